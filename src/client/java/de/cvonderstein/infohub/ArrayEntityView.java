@@ -0,0 +1,154 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * {@link EntityView} over plain arrays (recorded sessions, benchmarks).
+ *
+ * Filled per frame with {@link #beginFrame}, {@link #addPlayer} and {@link #addMob}; arrays only
+ * grow to the largest frame seen.
+ */
+final class ArrayEntityView implements EntityView {
+    private double playerX;
+    private double playerZ;
+
+    private int playerCount = 0;
+    private double[] playerXs = new double[16];
+    private double[] playerZs = new double[16];
+    private long[] playerMsb = new long[16];
+    private long[] playerLsb = new long[16];
+
+    private int mobCount = 0;
+    private int[] mobIds = new int[64];
+    private double[] mobXs = new double[64];
+    private double[] mobZs = new double[64];
+    private boolean[] mobHostile = new boolean[64];
+    private final Int2IntOpenHashMap mobSlot = new Int2IntOpenHashMap();
+    private int selected = -1;
+
+    ArrayEntityView() {
+        mobSlot.defaultReturnValue(-1);
+    }
+
+    void beginFrame(double playerX, double playerZ) {
+        this.playerX = playerX;
+        this.playerZ = playerZ;
+        playerCount = 0;
+        mobCount = 0;
+        mobSlot.clear();
+        selected = -1;
+    }
+
+    void addPlayer(long msb, long lsb, double x, double z) {
+        if (playerCount == playerXs.length) {
+            int n = playerCount * 2;
+            playerXs = Arrays.copyOf(playerXs, n);
+            playerZs = Arrays.copyOf(playerZs, n);
+            playerMsb = Arrays.copyOf(playerMsb, n);
+            playerLsb = Arrays.copyOf(playerLsb, n);
+        }
+        playerXs[playerCount] = x;
+        playerZs[playerCount] = z;
+        playerMsb[playerCount] = msb;
+        playerLsb[playerCount] = lsb;
+        playerCount++;
+    }
+
+    void addMob(int id, boolean hostile, double x, double z) {
+        if (mobCount == mobIds.length) {
+            int n = mobCount * 2;
+            mobIds = Arrays.copyOf(mobIds, n);
+            mobXs = Arrays.copyOf(mobXs, n);
+            mobZs = Arrays.copyOf(mobZs, n);
+            mobHostile = Arrays.copyOf(mobHostile, n);
+        }
+        mobIds[mobCount] = id;
+        mobXs[mobCount] = x;
+        mobZs[mobCount] = z;
+        mobHostile[mobCount] = hostile;
+        mobSlot.put(id, mobCount);
+        mobCount++;
+    }
+
+    int mobCount() {
+        return mobCount;
+    }
+
+    int mobId(int slot) {
+        return mobIds[slot];
+    }
+
+    boolean mobHostile(int slot) {
+        return mobHostile[slot];
+    }
+
+    double mobX(int slot) {
+        return mobXs[slot];
+    }
+
+    double mobZ(int slot) {
+        return mobZs[slot];
+    }
+
+    /** Slot of a mob in the current frame, -1 if it is not in the frame. */
+    int slotOf(int id) {
+        return mobSlot.get(id);
+    }
+
+    // ----------------------------
+    // EntityView
+    // ----------------------------
+
+    @Override
+    public double playerX() {
+        return playerX;
+    }
+
+    @Override
+    public double playerZ() {
+        return playerZ;
+    }
+
+    @Override
+    public int otherPlayerCount() {
+        return playerCount;
+    }
+
+    @Override
+    public double otherPlayerX(int index) {
+        return playerXs[index];
+    }
+
+    @Override
+    public double otherPlayerZ(int index) {
+        return playerZs[index];
+    }
+
+    @Override
+    public long otherPlayerUuidMsb(int index) {
+        return playerMsb[index];
+    }
+
+    @Override
+    public long otherPlayerUuidLsb(int index) {
+        return playerLsb[index];
+    }
+
+    @Override
+    public boolean selectMob(int id) {
+        selected = mobSlot.get(id);
+        return selected >= 0;
+    }
+
+    @Override
+    public double selectedMobX() {
+        return mobXs[selected];
+    }
+
+    @Override
+    public double selectedMobZ() {
+        return mobZs[selected];
+    }
+}
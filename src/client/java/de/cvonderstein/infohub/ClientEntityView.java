@@ -0,0 +1,104 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+
+import java.util.List;
+
+/**
+ * {@link EntityView} over the live client world.
+ *
+ * Bound for the duration of one counter update ({@link #bind} ... {@link #unbind}); no world or
+ * entity reference outlives the update.
+ */
+final class ClientEntityView implements EntityView {
+    private ClientWorld world;
+    private PlayerEntity player;
+    private List<AbstractClientPlayerEntity> players;
+    private int selfIndex; // index of the local player in players (skipped), or players.size()
+    private Entity selectedMob;
+
+    void bind(ClientWorld world, PlayerEntity player) {
+        this.world = world;
+        this.player = player;
+        this.players = world.getPlayers();
+
+        selfIndex = players.size();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                selfIndex = i;
+                break;
+            }
+        }
+    }
+
+    void unbind() {
+        world = null;
+        player = null;
+        players = null;
+        selectedMob = null;
+    }
+
+    /** The live player behind an "other player" index (e.g. for its name). */
+    PlayerEntity otherPlayer(int index) {
+        return players.get(index < selfIndex ? index : index + 1);
+    }
+
+    @Override
+    public double playerX() {
+        return player.getX();
+    }
+
+    @Override
+    public double playerZ() {
+        return player.getZ();
+    }
+
+    @Override
+    public int otherPlayerCount() {
+        return selfIndex < players.size() ? players.size() - 1 : players.size();
+    }
+
+    @Override
+    public double otherPlayerX(int index) {
+        return otherPlayer(index).getX();
+    }
+
+    @Override
+    public double otherPlayerZ(int index) {
+        return otherPlayer(index).getZ();
+    }
+
+    @Override
+    public long otherPlayerUuidMsb(int index) {
+        return otherPlayer(index).getUuid().getMostSignificantBits();
+    }
+
+    @Override
+    public long otherPlayerUuidLsb(int index) {
+        return otherPlayer(index).getUuid().getLeastSignificantBits();
+    }
+
+    @Override
+    public boolean selectMob(int id) {
+        Entity mob = world.getEntityById(id);
+        if (mob == null || mob.isRemoved()) {
+            selectedMob = null;
+            return false;
+        }
+        selectedMob = mob;
+        return true;
+    }
+
+    @Override
+    public double selectedMobX() {
+        return selectedMob.getX();
+    }
+
+    @Override
+    public double selectedMobZ() {
+        return selectedMob.getZ();
+    }
+}
@@ -0,0 +1,28 @@
+package de.cvonderstein.infohub;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one player or mob counter update on the client thread.
+ */
+@Name("de.cvonderstein.infohub.CounterUpdate")
+@Label("InfoHub Counter Update")
+@Category("InfoHub")
+@Description("Ring counting of nearby players or mobs")
+@StackTrace(false)
+final class CounterUpdateEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    String kind;
+
+    @Label("Visited")
+    @Description("Players checked, or mob chunk buckets visited")
+    int visited;
+
+    @Label("Counted")
+    @Description("Things inside the largest ring")
+    int counted;
+}
@@ -0,0 +1,38 @@
+package de.cvonderstein.infohub;
+
+/**
+ * The narrow slice of a world the player / mob counters need.
+ *
+ * Implemented over the live client world ({@link ClientEntityView}) and over recorded sessions
+ * ({@link SessionReplay}), so counting runs and can be measured without a game client.
+ *
+ * Important:
+ * - Accessors are index/cursor based so implementations never allocate per query.
+ * - "Other players" excludes the local player.
+ */
+interface EntityView {
+    double playerX();
+
+    double playerZ();
+
+    int otherPlayerCount();
+
+    double otherPlayerX(int index);
+
+    double otherPlayerZ(int index);
+
+    long otherPlayerUuidMsb(int index);
+
+    long otherPlayerUuidLsb(int index);
+
+    /**
+     * Moves the mob cursor to the entity with the given id.
+     *
+     * @return false if the mob is gone (removed / not known)
+     */
+    boolean selectMob(int id);
+
+    double selectedMobX();
+
+    double selectedMobZ();
+}
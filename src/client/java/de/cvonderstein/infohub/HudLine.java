@@ -0,0 +1,146 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * One cached HUD text line plus a reusable char buffer to (re)build it.
+ *
+ * Usage per frame: {@code begin()}, feed every source value with {@code key(...)}, and only if
+ * {@link #isDirty()} rebuild the text with {@code clear()/append(...)/commit()}.
+ *
+ * Important:
+ * - Numbers are written straight into the char buffer (no String.format, no boxing).
+ * - In steady state (no source value changed) nothing is allocated; a new String is
+ *   created only when the line actually changes.
+ */
+final class HudLine {
+    private int[] keys;
+    private int keyCount = 0;
+    private boolean dirty = true;
+
+    private char[] buf = new char[64];
+    private int len = 0;
+
+    private String text = "";
+
+    HudLine(int expectedKeys) {
+        keys = new int[Math.max(1, expectedKeys)];
+        Arrays.fill(keys, Integer.MIN_VALUE);
+    }
+
+    // ----------------------------
+    // Change detection
+    // ----------------------------
+
+    HudLine begin() {
+        keyCount = 0;
+        return this;
+    }
+
+    HudLine key(int value) {
+        if (keyCount == keys.length) {
+            int old = keys.length;
+            keys = Arrays.copyOf(keys, old * 2);
+            Arrays.fill(keys, old, keys.length, Integer.MIN_VALUE);
+        }
+        if (keys[keyCount] != value) {
+            keys[keyCount] = value;
+            dirty = true;
+        }
+        keyCount++;
+        return this;
+    }
+
+    HudLine key(boolean value) {
+        return key(value ? 1 : 0);
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /** Forces a rebuild on the next frame (e.g. when a label changed but no keyed value did). */
+    void invalidate() {
+        dirty = true;
+    }
+
+    String text() {
+        return text;
+    }
+
+    // ----------------------------
+    // Building
+    // ----------------------------
+
+    HudLine clear() {
+        len = 0;
+        return this;
+    }
+
+    HudLine append(char c) {
+        ensure(1);
+        buf[len++] = c;
+        return this;
+    }
+
+    HudLine append(String s) {
+        int n = s.length();
+        ensure(n);
+        s.getChars(0, n, buf, len);
+        len += n;
+        return this;
+    }
+
+    HudLine append(int v) {
+        if (v < 0) {
+            if (v == Integer.MIN_VALUE) return append("-2147483648");
+            append('-');
+            v = -v;
+        }
+        ensure(10);
+        int start = len;
+        do {
+            buf[len++] = (char) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        // digits were written least significant first
+        for (int i = start, j = len - 1; i < j; i++, j--) {
+            char t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+        return this;
+    }
+
+    /**
+     * Appends a value given in hundredths with exactly two decimals (like {@code %.2f}).
+     */
+    HudLine appendFixed2(int hundredths) {
+        if (hundredths < 0) {
+            append('-');
+            hundredths = -hundredths;
+        }
+        append(hundredths / 100);
+        int frac = hundredths % 100;
+        ensure(3);
+        buf[len++] = '.';
+        buf[len++] = (char) ('0' + frac / 10);
+        buf[len++] = (char) ('0' + frac % 10);
+        return this;
+    }
+
+    /**
+     * Publishes the built text; the only allocation of a rebuild.
+     */
+    String commit() {
+        text = new String(buf, 0, len);
+        dirty = false;
+        return text;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+}
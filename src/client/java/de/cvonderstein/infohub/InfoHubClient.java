@@ -1,6 +1,8 @@
 package de.cvonderstein.infohub;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
@@ -23,6 +25,12 @@ public final class InfoHubClient implements ClientModInitializer {
     public static final Logger LOGGER = LoggerFactory.getLogger("InfoHub");
 
     public static KeyBinding TOGGLE_SPAWN_MARKERS;
+    public static KeyBinding CYCLE_SPAWN_MARKER_STYLE;
+    public static KeyBinding TOGGLE_PROFILER_HUD;
+    public static KeyBinding TOGGLE_LIGHT_OVERLAY;
+    public static KeyBinding TOGGLE_METRICS_HUD;
+    public static KeyBinding TOGGLE_MOB_BREAKDOWN;
+    public static KeyBinding TOGGLE_MOB_HEATMAP;
 
     @Override
     public void onInitializeClient() {
@@ -34,6 +42,54 @@ public final class InfoHubClient implements ClientModInitializer {
                 "category.infohub"
         ));
 
+        // Key binding (cycle): boxes / merged outlines / merged filled quads.
+        CYCLE_SPAWN_MARKER_STYLE = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.cycle_spawn_marker_style",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_N,
+                "category.infohub"
+        ));
+
+        // Key binding (toggle): block-light numbers on standable blocks.
+        TOGGLE_LIGHT_OVERLAY = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.toggle_light_overlay",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_K,
+                "category.infohub"
+        ));
+
+        // Key binding (toggle): self-profiler lines (InfoHub's own frame time per subsystem).
+        TOGGLE_PROFILER_HUD = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.toggle_profiler_hud",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_J,
+                "category.infohub"
+        ));
+
+        // Key binding (toggle): frame-time / RTT / speed percentiles and sparklines.
+        TOGGLE_METRICS_HUD = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.toggle_metrics_hud",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_H,
+                "category.infohub"
+        ));
+
+        // Key binding (toggle): per-type mob breakdown line.
+        TOGGLE_MOB_BREAKDOWN = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.toggle_mob_breakdown",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_M,
+                "category.infohub"
+        ));
+
+        // Key binding (toggle): mob-density heatmap panel.
+        TOGGLE_MOB_HEATMAP = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.infohub.toggle_mob_heatmap",
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_G,
+                "category.infohub"
+        ));
+
         // Tick updates (compute all values once per tick / throttled).
         ClientTickEvents.END_CLIENT_TICK.register(InfoHubState.INSTANCE::onClientTick);
 
@@ -47,6 +103,16 @@ public final class InfoHubClient implements ClientModInitializer {
         ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> InfoHubState.INSTANCE.onJoinWorld(client));
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> InfoHubState.INSTANCE.onLeaveWorld());
 
+        // Chunk lifecycle (invalidate cached spawn sections; block/light updates come in via mixins).
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) ->
+                InfoHubState.INSTANCE.onChunkLoad(world, chunk.getPos().x, chunk.getPos().z));
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) ->
+                InfoHubState.INSTANCE.onChunkUnload(world, chunk.getPos().x, chunk.getPos().z));
+
+        // Entity lifecycle (incremental mob index; chunk crossings come in via mixin).
+        ClientEntityEvents.ENTITY_LOAD.register(InfoHubState.INSTANCE::onEntityLoad);
+        ClientEntityEvents.ENTITY_UNLOAD.register(InfoHubState.INSTANCE::onEntityUnload);
+
         LOGGER.info("InfoHub client initialized");
     }
 }
@@ -0,0 +1,198 @@
+package de.cvonderstein.infohub;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * User configuration, read once from {@code config/infohub.properties}.
+ *
+ * A commented default file is written on first start. Invalid values are logged and
+ * replaced by their defaults, so a broken config never stops the client.
+ */
+public final class InfoHubConfig {
+    private static final String FILE_NAME = "infohub.properties";
+
+    private static InfoHubConfig instance;
+
+    // ----------------------------
+    // Values
+    // ----------------------------
+
+    /** Player counter rings (see {@link RingCounter#parse(String)}). */
+    public final RingCounter.Ring[] playerRings;
+
+    /** Mob counter rings (see {@link RingCounter#parse(String)}). */
+    public final RingCounter.Ring[] mobRings;
+
+    /** Spawn-marker scan radius (blocks, horizontal). */
+    public final int spawnScanRadius;
+
+    /** Spawn-marker scan vertical range (+/- blocks around the player's Y). */
+    public final int spawnScanVertical;
+
+    /** Keep spawn-scan results on disk per server and dimension (see {@link SpawnDiskCache}). */
+    public final boolean spawnDiskCache;
+
+    /** Stream HUD values and subsystem timings to JSON-lines files (see {@link TelemetryExporter}). */
+    public final boolean telemetryExport;
+
+    /** Ticks between two telemetry records. */
+    public final int telemetryIntervalTicks;
+
+    /** Telemetry file size (MB) after which a new part is started. */
+    public final int telemetryRotateMegabytes;
+
+    /** Also report players leaving the notify radius (in the same coalesced message). */
+    public final boolean notifyLeaves;
+
+    /** Max time per tick (microseconds) InfoHub's scheduled tasks may use together. */
+    public final int frameBudgetMicros;
+
+    /** FPS the quality governor steers towards (0 = off, fixed quality; see {@link QualityGovernor}). */
+    public final int targetFps;
+
+    /** Record sessions for headless replay (see {@link SessionRecorder}). */
+    public final boolean recordSessions;
+
+    private InfoHubConfig(Properties p) {
+        playerRings = rings(p, "playerRings", "3,5,7");
+        mobRings = rings(p, "mobRings", "1,2c,3,4");
+        spawnScanRadius = integer(p, "spawnScanRadius", 24, 8, 128);
+        spawnScanVertical = integer(p, "spawnScanVertical", 12, 4, 64);
+        spawnDiskCache = bool(p, "spawnDiskCache", false);
+        telemetryExport = bool(p, "telemetryExport", false);
+        telemetryIntervalTicks = integer(p, "telemetryIntervalTicks", 5, 1, 1200);
+        telemetryRotateMegabytes = integer(p, "telemetryRotateMegabytes", 16, 1, 1024);
+        notifyLeaves = bool(p, "notifyLeaves", false);
+        frameBudgetMicros = integer(p, "frameBudgetMicros", 1500, 100, 50_000);
+        targetFps = integer(p, "targetFps", 0, 0, 1000);
+        recordSessions = bool(p, "recordSessions", false);
+    }
+
+    public static synchronized InfoHubConfig get() {
+        if (instance == null) {
+            instance = load(FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME));
+        }
+        return instance;
+    }
+
+    /**
+     * Uses the built-in defaults without reading or writing a file, unless a config is already
+     * loaded (headless runs without a Fabric loader, e.g. benchmarks).
+     */
+    static synchronized void useDefaults() {
+        if (instance == null) {
+            instance = new InfoHubConfig(new Properties());
+        }
+    }
+
+    private static InfoHubConfig load(Path file) {
+        Properties p = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                p.load(r);
+            } catch (IOException e) {
+                InfoHubClient.LOGGER.warn("Could not read {}, using defaults", file, e);
+            }
+        } else {
+            writeDefaults(file);
+        }
+        return new InfoHubConfig(p);
+    }
+
+    private static void writeDefaults(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                w.write("""
+                        # InfoHub configuration
+
+                        # Counter rings, comma separated radii in chunks (any number of rings).
+                        # Plain numbers are length based (radius = chunks * 16 blocks, horizontal distance),
+                        # a "c" suffix means chunk-border based (all chunks within N chunks of the player's chunk).
+                        playerRings=3,5,7
+                        mobRings=1,2c,3,4
+
+                        # Spawn-marker scan volume in blocks (horizontal radius 8..128, vertical +/- 4..64).
+                        # Large volumes are scanned nearest-first over several ticks; near markers show up first.
+                        spawnScanRadius=24
+                        spawnScanVertical=12
+
+                        # Keep spawn-scan results in infohub/spawncache/ (per server and dimension), so known
+                        # areas show markers right after joining; stored results are re-checked in the background.
+                        spawnDiskCache=false
+
+                        # Export FPS / frame times / RTT / speed / light / counters / marker count / subsystem
+                        # timings as JSON lines to infohub/telemetry/ (one record every telemetryIntervalTicks).
+                        # Files rotate at telemetryRotateMegabytes; the newest 8 parts of a session are kept.
+                        telemetryExport=false
+                        telemetryIntervalTicks=5
+                        telemetryRotateMegabytes=16
+
+                        # Nearby-player chat notices are coalesced per counter update and rate limited;
+                        # set to true to also list players that left the radius.
+                        notifyLeaves=false
+
+                        # Max time per tick (microseconds) for all InfoHub work on the client thread.
+                        # Due tasks beyond this slice wait for the next tick; long jobs resume where they stopped.
+                        frameBudgetMicros=1500
+
+                        # FPS target for the adaptive quality governor (0 = off). With headroom, InfoHub widens the
+                        # spawn-scan radius (up to 2x), raises the marker cap and updates more often; when frames
+                        # fall behind the target it backs off (down to half radius, half update rate).
+                        targetFps=0
+
+                        # Record every session (player/mob positions per tick, scanned chunk sections) to
+                        # infohub/sessions/ in the game directory, for headless replay and load testing.
+                        recordSessions=false
+                        """);
+            }
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not write default {}", file, e);
+        }
+    }
+
+    // ----------------------------
+    // Parsing helpers
+    // ----------------------------
+
+    private static int integer(Properties p, String key, int def, int min, int max) {
+        String value = p.getProperty(key);
+        if (value == null) return def;
+        try {
+            int v = Integer.parseInt(value.trim());
+            if (v >= min && v <= max) return v;
+        } catch (NumberFormatException ignored) {
+            // fall through
+        }
+        InfoHubClient.LOGGER.warn("Invalid {}='{}' in {} (expected {}..{}), using {}", key, value, FILE_NAME, min, max, def);
+        return def;
+    }
+
+    private static boolean bool(Properties p, String key, boolean def) {
+        String value = p.getProperty(key);
+        if (value == null) return def;
+        String v = value.trim();
+        if (v.equalsIgnoreCase("true")) return true;
+        if (v.equalsIgnoreCase("false")) return false;
+        InfoHubClient.LOGGER.warn("Invalid {}='{}' in {} (expected true/false), using {}", key, value, FILE_NAME, def);
+        return def;
+    }
+
+    private static RingCounter.Ring[] rings(Properties p, String key, String def) {
+        String value = p.getProperty(key, def);
+        try {
+            return RingCounter.parse(value);
+        } catch (IllegalArgumentException e) {
+            InfoHubClient.LOGGER.warn("Invalid {}='{}' in {} ({}), using {}", key, value, FILE_NAME, e.getMessage(), def);
+            return RingCounter.parse(def);
+        }
+    }
+}
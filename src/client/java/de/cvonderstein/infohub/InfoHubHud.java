@@ -12,7 +12,28 @@ import net.minecraft.client.gui.DrawContext;
 public final class InfoHubHud {
     private InfoHubHud() {}
 
+    private static final InfoHubProfiler.Subsystem[] PROFILED = InfoHubProfiler.Subsystem.values();
+
+    // Sparklines (one column per sample, newest on the right)
+    private static final int GRAPH_WIDTH = 120;
+    private static final int GRAPH_HEIGHT = 16;
+    private static final int GRAPH_BACKGROUND = 0x80000000;
+    private static final int GRAPH_COLOR = 0xFF55FF55;
+    private static final int GRAPH_SPIKE_COLOR = 0xFFFF5555;
+    private static final int GRAPH_TICK_COLOR = 0xFF55AAFF;
+
+    // Mob heatmap panel (top right, north up, one square per chunk)
+    private static final int HEATMAP_CELL = 3;
+    private static final int HEATMAP_PLAYER_COLOR = 0xFFFFFFFF;
+
     public static void onHudRender(DrawContext drawContext, float tickDelta) {
+        final long start = System.nanoTime();
+        InfoHubState.INSTANCE.onFrame(start);
+        render(drawContext);
+        InfoHubProfiler.INSTANCE.record(InfoHubProfiler.Subsystem.HUD, System.nanoTime() - start);
+    }
+
+    private static void render(DrawContext drawContext) {
         MinecraftClient client = MinecraftClient.getInstance();
         if (client == null) return;
 
@@ -36,5 +57,96 @@ public final class InfoHubHud {
         drawContext.drawTextWithShadow(tr, s.buildHudLine2(), x, y, 0xFFFFFF);
         y += lineH;
         drawContext.drawTextWithShadow(tr, s.buildHudLine3(), x, y, 0xFFFFFF);
+
+        if (s.isMobBreakdownEnabled()) {
+            y += lineH;
+            drawContext.drawTextWithShadow(tr, s.buildMobBreakdownLine(), x, y, 0xFFFFFF);
+        }
+
+        if (s.isMetricsHudEnabled()) {
+            y = renderMetrics(drawContext, tr, s.getMetrics(), x, y + lineH, lineH);
+        }
+
+        if (s.isMobHeatmapEnabled() && client.player != null) {
+            renderHeatmap(drawContext, s.getMobHeatmap(), client.player.getChunkPos().x, client.player.getChunkPos().z);
+        }
+
+        InfoHubProfiler profiler = InfoHubProfiler.INSTANCE;
+        if (profiler.isHudEnabled()) {
+            for (InfoHubProfiler.Subsystem sub : PROFILED) {
+                y += lineH;
+                drawContext.drawTextWithShadow(tr, profiler.buildHudLine(sub), x, y, 0xAAAAAA);
+            }
+        }
+    }
+
+    /**
+     * Frame-time line + sparkline, RTT/speed line + sparklines; returns the y of the last text line
+     * drawn (so following lines stack below the graphs).
+     */
+    private static int renderMetrics(DrawContext drawContext, TextRenderer tr, RollingMetrics m, int x, int y, int lineH) {
+        drawContext.drawTextWithShadow(tr, m.buildFrameLine(), x, y, 0xFFFFFF);
+        y += lineH;
+        // Frames slower than twice the median are spikes.
+        int spike = Math.max(1, m.getFrameP50Micros() * 2);
+        drawSparkline(drawContext, m.frameMicros, x, y, GRAPH_WIDTH, spike, GRAPH_COLOR);
+        y += GRAPH_HEIGHT + 2;
+
+        drawContext.drawTextWithShadow(tr, m.buildTickLine(), x, y, 0xFFFFFF);
+        y += lineH;
+        int half = GRAPH_WIDTH / 2 - 1;
+        drawSparkline(drawContext, m.rttMs, x, y, half, Integer.MAX_VALUE, GRAPH_TICK_COLOR);
+        drawSparkline(drawContext, m.speedHundredths, x + half + 2, y, half, Integer.MAX_VALUE, GRAPH_TICK_COLOR);
+        return y + GRAPH_HEIGHT + 2 - lineH;
+    }
+
+    /**
+     * Heatmap panel in the top-right corner: red = hostile, green = non-hostile, brightness relative
+     * to the densest chunk in the window; empty chunks are left as background.
+     */
+    private static void renderHeatmap(DrawContext drawContext, MobHeatmap map, int centerCX, int centerCZ) {
+        final int side = MobHeatmap.SIZE * HEATMAP_CELL;
+        final int x0 = drawContext.getScaledWindowWidth() - side - 2;
+        final int y0 = 2;
+        drawContext.fill(x0, y0, x0 + side, y0 + side, GRAPH_BACKGROUND);
+
+        float max = map.max();
+        if (max > 0.0f) {
+            for (int dz = -MobHeatmap.RADIUS; dz <= MobHeatmap.RADIUS; dz++) {
+                for (int dx = -MobHeatmap.RADIUS; dx <= MobHeatmap.RADIUS; dx++) {
+                    float h = map.hostile(centerCX + dx, centerCZ + dz);
+                    float n = map.nonHostile(centerCX + dx, centerCZ + dz);
+                    if (h + n < max * 0.02f) continue; // faint noise
+
+                    int red = (int) (255.0f * h / max);
+                    int green = (int) (255.0f * n / max);
+                    int alpha = Math.min(255, 96 + (int) (159.0f * (h + n) / max));
+                    int color = alpha << 24 | Math.min(255, red) << 16 | Math.min(255, green) << 8;
+
+                    int cx = x0 + (dx + MobHeatmap.RADIUS) * HEATMAP_CELL;
+                    int cy = y0 + (dz + MobHeatmap.RADIUS) * HEATMAP_CELL;
+                    drawContext.fill(cx, cy, cx + HEATMAP_CELL, cy + HEATMAP_CELL, color);
+                }
+            }
+        }
+
+        int mid = MobHeatmap.RADIUS * HEATMAP_CELL;
+        drawContext.fill(x0 + mid + 1, y0 + mid + 1, x0 + mid + 2, y0 + mid + 2, HEATMAP_PLAYER_COLOR);
+    }
+
+    /**
+     * Newest {@code width} samples as 1 px bars, scaled to their max; bars above {@code spike} in red.
+     */
+    private static void drawSparkline(DrawContext drawContext, MetricHistory h, int x, int y, int width, int spike, int color) {
+        drawContext.fill(x, y, x + width, y + GRAPH_HEIGHT, GRAPH_BACKGROUND);
+
+        int n = Math.min(width, h.size());
+        int scale = Math.max(1, h.max(n));
+        for (int age = 0; age < n; age++) {
+            int v = h.get(age);
+            int bar = Math.max(1, (int) ((long) v * GRAPH_HEIGHT / scale));
+            int col = x + width - 1 - age;
+            drawContext.fill(col, y + GRAPH_HEIGHT - bar, col + 1, y + GRAPH_HEIGHT, v > spike ? GRAPH_SPIKE_COLOR : color);
+        }
     }
 }
@@ -0,0 +1,146 @@
+package de.cvonderstein.infohub;
+
+/**
+ * Built-in self-profiler: how much time InfoHub itself takes, per subsystem.
+ *
+ * Call sites take two {@link System#nanoTime()} samples and {@link #record} the difference into a
+ * {@link LatencyHistogram}. Once per second the histograms are rolled into published
+ * p50 / p99 / max / calls-per-second values (shown by the profiler HUD lines) and cleared.
+ *
+ * Important:
+ * - Always on; recording is cheap enough that the numbers are there the moment the HUD is opened.
+ * - Client thread only. Work done on the spawn-scan worker is timed there and recorded here when
+ *   the finished job is polled.
+ * - Detailed per-scan / per-update data goes to JFR ({@link SpawnScanEvent}, {@link CounterUpdateEvent}).
+ */
+public final class InfoHubProfiler {
+    public static final InfoHubProfiler INSTANCE = new InfoHubProfiler();
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    public enum Subsystem {
+        TICK("tick"),
+        PLAYERS("players"),
+        MOBS("mobs"),
+        SPAWN_CAPTURE("spawnCapture"),
+        SPAWN_WORKER("spawnWorker"),
+        HUD("hud"),
+        RENDER("render");
+
+        private final String label;
+
+        Subsystem(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Subsystem[] SUBSYSTEMS = Subsystem.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[SUBSYSTEMS.length];
+
+    // Published values of the last complete window
+    private final long[] p50Nanos = new long[SUBSYSTEMS.length];
+    private final long[] p99Nanos = new long[SUBSYSTEMS.length];
+    private final long[] maxNanos = new long[SUBSYSTEMS.length];
+    private final int[] callsPerSecond = new int[SUBSYSTEMS.length];
+
+    private final HudLine[] hudLines = new HudLine[SUBSYSTEMS.length];
+
+    private long windowStart = System.nanoTime();
+    private boolean hudEnabled = false;
+
+    private InfoHubProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+            hudLines[i] = new HudLine(4);
+        }
+    }
+
+    public void record(Subsystem subsystem, long nanos) {
+        histograms[subsystem.ordinal()].record(nanos);
+    }
+
+    /**
+     * Publishes and clears the histograms once a full window has passed.
+     */
+    void rollIfDue(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW_NANOS) return;
+
+        for (int i = 0; i < histograms.length; i++) {
+            LatencyHistogram h = histograms[i];
+            p50Nanos[i] = h.percentile(0.50);
+            p99Nanos[i] = h.percentile(0.99);
+            maxNanos[i] = h.max();
+            callsPerSecond[i] = (int) Math.round(h.count() * (double) WINDOW_NANOS / elapsed);
+            h.clear();
+        }
+        windowStart = now;
+    }
+
+    void reset() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].clear();
+            p50Nanos[i] = 0;
+            p99Nanos[i] = 0;
+            maxNanos[i] = 0;
+            callsPerSecond[i] = 0;
+        }
+        windowStart = System.nanoTime();
+    }
+
+    // ----------------------------
+    // HUD
+    // ----------------------------
+
+    boolean isHudEnabled() {
+        return hudEnabled;
+    }
+
+    void toggleHud() {
+        hudEnabled = !hudEnabled;
+    }
+
+    public String buildHudLine(Subsystem subsystem) {
+        int i = subsystem.ordinal();
+        int p50 = hundredthsOfMs(p50Nanos[i]);
+        int p99 = hundredthsOfMs(p99Nanos[i]);
+        int max = hundredthsOfMs(maxNanos[i]);
+
+        HudLine l = hudLines[i].begin().key(p50).key(p99).key(max).key(callsPerSecond[i]);
+        if (!l.isDirty()) return l.text();
+
+        // %s p50:%.2f p99:%.2f max:%.2fms %d/s
+        return l.clear()
+                .append(subsystem.getLabel())
+                .append(" p50:").appendFixed2(p50)
+                .append(" p99:").appendFixed2(p99)
+                .append(" max:").appendFixed2(max).append("ms ")
+                .append(callsPerSecond[i]).append("/s")
+                .commit();
+    }
+
+    private static int hundredthsOfMs(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, (nanos + 5_000L) / 10_000L);
+    }
+
+    long getP50Nanos(Subsystem subsystem) {
+        return p50Nanos[subsystem.ordinal()];
+    }
+
+    long getP99Nanos(Subsystem subsystem) {
+        return p99Nanos[subsystem.ordinal()];
+    }
+
+    long getMaxNanos(Subsystem subsystem) {
+        return maxNanos[subsystem.ordinal()];
+    }
+
+    int getCallsPerSecond(Subsystem subsystem) {
+        return callsPerSecond[subsystem.ordinal()];
+    }
+}
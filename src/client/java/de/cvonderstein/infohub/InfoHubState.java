@@ -1,27 +1,25 @@
 package de.cvonderstein.infohub;
 
-import net.minecraft.block.BlockState;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.client.network.PlayerListEntry;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.mob.HostileEntity;
-import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
-import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.LightType;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Locale;
-import java.util.Set;
-import java.util.UUID;
 
 /**
  * Holds computed values and does all per-tick updates.
@@ -38,30 +36,57 @@ public final class InfoHubState {
     // Tunables (performance)
     // ----------------------------
 
+    // Interval / radius / marker-cap tunables are base values; with a targetFps configured, the
+    // QualityGovernor scales them at runtime (see applyQualityLevel).
+
     /** Update player/mob counters every N ticks (10 = twice per second). */
     private static final int COUNTER_UPDATE_INTERVAL_TICKS = 10;
 
     /** Show "new player entered radius" chat message for this radius (in chunks, length-based = chunks*16 blocks). */
     private static final int PLAYER_NOTIFY_RADIUS_CHUNKS = 4; // => 64 blocks
 
-    /** Player counters in radii (chunks, length-based). */
-    private static final int[] PLAYER_COUNT_RADII_CHUNKS = {3, 5, 7};
+    // Player/mob counter radii come from InfoHubConfig (playerRings / mobRings).
+    // Default: players 3/5/7 (length-based), mobs 1/2/3/4 with radius 2 *chunk-border based* per requirement.
 
-    /** Mob counters in radii (chunks); note: radius=2 is *chunk-border based* per requirement. */
-    private static final int[] MOB_COUNT_RADII_CHUNKS = {1, 2, 3, 4};
+    // Spawn-marker scan radius / vertical range come from InfoHubConfig (spawnScanRadius / spawnScanVertical).
 
-    /** Spawn-marker scan radius (blocks). */
-    private static final int SPAWN_SCAN_RADIUS_BLOCKS = 24;
+    /** Max dirty sections evaluated per scan job; larger scans stream in nearest-first over several jobs. */
+    private static final int SPAWN_SCAN_SECTIONS_PER_JOB = 32;
 
-    /** Spawn-marker scan vertical range (+/- blocks around player Y). */
-    private static final int SPAWN_SCAN_VERTICAL_BLOCKS = 12;
+    /**
+     * Spawn-scan prefetch: above this horizontal speed (faster than sprinting) the scan window is
+     * centered this many ticks of travel ahead, in steps of {@code SPAWN_PREFETCH_STEP_BLOCKS} and at
+     * most half the scan radius (the player always stays inside the window).
+     */
+    private static final double SPAWN_PREFETCH_MIN_SPEED_BPS = 8.0;
+    private static final int SPAWN_PREFETCH_TICKS = 20;
+    private static final int SPAWN_PREFETCH_STEP_BLOCKS = 4;
 
     /** Scan interval while spawn markers are enabled. */
     private static final int SPAWN_SCAN_INTERVAL_TICKS = 10;
 
+    /** Refresh interval of the light-level overlay while it is enabled. */
+    private static final int LIGHT_OVERLAY_INTERVAL_TICKS = 10;
+
+    /** Mob types listed in the per-type breakdown line. */
+    private static final int MOB_BREAKDOWN_TYPES = 4;
+
     /** Hard cap on how many markers we keep to avoid memory/perf issues. */
     private static final int SPAWN_MARKER_MAX = 800;
 
+    /** Hard cap in the merged marker styles (merged geometry is far cheaper to draw). */
+    private static final int SPAWN_MARKER_MAX_MERGED = 8000;
+
+    /** Per-task time budgets for the tick scheduler (resumable tasks stop here). */
+    private static final long METRICS_BUDGET_NANOS = 200_000L;
+    private static final long COUNTER_BUDGET_NANOS = 1_000_000L;
+    private static final long SPAWN_SCAN_BUDGET_NANOS = 1_000_000L;
+
+    private static final InfoHubProfiler.Subsystem[] SUBSYSTEMS = InfoHubProfiler.Subsystem.values();
+
+    /** Cached spawn sections are kept this many sections beyond the scan volume before being dropped. */
+    private static final int SPAWN_CACHE_MARGIN_SECTIONS = 1;
+
     // ----------------------------
     // State (read by HUD / renderer)
     // ----------------------------
@@ -76,8 +101,16 @@ public final class InfoHubState {
     private int lightCombined = 0;
     private int lightSky = 0;
     private int lightBlock = 0;
+    private final SectionLight sectionLight = new SectionLight();
+
+    private final NearbyCounter nearby = new NearbyCounter(
+            InfoHubConfig.get().playerRings, InfoHubConfig.get().mobRings, PLAYER_NOTIFY_RADIUS_CHUNKS * 16);
+    private final RingCounter playerRings = nearby.playerRings();
+    private final RingCounter mobRings = nearby.mobRings();
+    private final ProximityNotifier notifier = new ProximityNotifier(
+            PLAYER_NOTIFY_RADIUS_CHUNKS * 16, InfoHubConfig.get().notifyLeaves);
 
-    private final int[] playersInRadius = new int[PLAYER_COUNT_RADII_CHUNKS.length];
+    private final int[] playersInRadius = new int[playerRings.ringCount()];
 
     public static final class MobCounts {
         public int hostile = 0;
@@ -89,24 +122,90 @@ public final class InfoHubState {
         }
     }
 
-    private final MobCounts[] mobsInRadius = new MobCounts[MOB_COUNT_RADII_CHUNKS.length];
+    private final MobCounts[] mobsInRadius = new MobCounts[mobRings.ringCount()];
+
+    // Per-type mob breakdown of the largest mob ring (only counted while shown)
+    private boolean mobBreakdownEnabled = false;
+    private final int mobBreakdownRing = largestRing(mobRings);
+    private static final MobClassifier.Category[] MOB_CATEGORIES = MobClassifier.Category.values();
+    private final int[] mobCategoryCounts = new int[MOB_CATEGORIES.length];
+    private final int[] mobTopTypes = new int[MOB_BREAKDOWN_TYPES];
+    private final int[] mobTopCounts = new int[MOB_BREAKDOWN_TYPES];
+    private int mobTopSize = 0;
+
+    // Decaying per-chunk mob density (sampled with every mob-counter update, shown on demand)
+    private final MobHeatmap mobHeatmap = new MobHeatmap();
+    private boolean mobHeatmapEnabled = false;
 
     // Spawn marker overlay
     private boolean spawnMarkersEnabled = false;
-    private final List<BlockPos> spawnMarkerPositions = new ArrayList<>();
-
-    // "player entered radius" tracking
-    private final Set<UUID> playersWithinNotifyRange = new HashSet<>();
-    private boolean notifyInitialized = false;
+    private SpawnMarkerStyle spawnMarkerStyle = SpawnMarkerStyle.BOXES;
+    // Double-buffered packed markers: the renderer reads the front, the scan worker fills the back.
+    private PackedPosBuffer spawnMarkerFront = new PackedPosBuffer(SPAWN_MARKER_MAX);
+    private PackedPosBuffer spawnMarkerBack = new PackedPosBuffer(SPAWN_MARKER_MAX);
+    private final SpawnScanWorker.Job spawnScanJob = new SpawnScanWorker.Job();
+    private boolean spawnScanPlanning = false; // job being planned, the window walk resumes across ticks
+    private int spawnScanPlanRing = 0; // next chunk column (ring index) of the plan
+    private boolean spawnScanCapturing = false; // job planned, snapshot capture resumes across ticks
+    private int spawnScanCaptureIndex = 0;
+    private int spawnMarkerVersion = 0; // bumped whenever the front buffer changes (renderer rebakes)
+    private final SpawnSectionCache spawnSectionCache = new SpawnSectionCache();
+    private final SpawnScanWorker spawnScanWorker = new SpawnScanWorker();
+    private int spawnScanGeneration = 0;
+    private long lastSpawnScanCenter = Long.MIN_VALUE;
+    private boolean spawnScanStreaming = false; // dirty sections left over for the next job
+    private int spawnScanRadius = InfoHubConfig.get().spawnScanRadius; // governed
+    private final int spawnScanVertical = InfoHubConfig.get().spawnScanVertical;
+    private final SectionRings spawnScanRings = new SectionRings(
+            (QualityGovernor.maxSpawnScanRadius(InfoHubConfig.get().spawnScanRadius) + 15) / 16 + 1);
+
+    // Light-level overlay (numbers per standable block)
+    private boolean lightOverlayEnabled = false;
+    private final LightLevelOverlay lightOverlay = new LightLevelOverlay();
+
+    // Rolling frame-time / RTT / speed history (percentiles + sparklines)
+    private final RollingMetrics metrics = new RollingMetrics();
+    private boolean metricsHudEnabled = false;
+
+    // HUD text (rebuilt only when a source value changes)
+    private final HudLine hudLine1 = new HudLine(8);
+    private final HudLine hudLine2 = new HudLine(playersInRadius.length + 1);
+    private final HudLine hudLine3 = new HudLine(mobsInRadius.length * 2);
+    private final HudLine mobBreakdownLine = new HudLine(1 + MOB_CATEGORIES.length + MOB_BREAKDOWN_TYPES * 2);
+    private final String playerRingsLabel = buildRingsLabel("P", playerRings); // e.g. "P3/5/7:"
+
+    // Mob counters (incremental chunk index, fed by entity events; types classified once on load)
+    private final MobClassifier mobClassifier = new MobClassifier();
+    private final MobChunkIndex mobIndex = new MobChunkIndex(mobClassifier);
+    private final ClientEntityView entityView = new ClientEntityView();
 
     // housekeeping
+    private final InfoHubProfiler profiler = InfoHubProfiler.INSTANCE;
+    private final TickScheduler scheduler = new TickScheduler(InfoHubConfig.get().frameBudgetMicros * 1000L);
+    private final QualityGovernor governor = new QualityGovernor(InfoHubConfig.get().targetFps);
+    private final TickScheduler.Entry playersTask;
+    private final TickScheduler.Entry mobsTask;
+    private final TickScheduler.Entry spawnScanTask;
     private int clientTicks = 0;
     private ClientWorld lastWorld = null;
+    private SessionRecorder recorder = null; // only while recordSessions is on
+    private TelemetryExporter telemetry = null; // only while telemetryExport is on
+    private SpawnDiskCache spawnDiskCache = null; // only while spawnDiskCache is on
 
     private InfoHubState() {
         for (int i = 0; i < mobsInRadius.length; i++) {
             mobsInRadius[i] = new MobCounts();
         }
+        mobClassifier.rebuild();
+
+        // Registration order = priority. Phases of the periodic tasks are staggered by the scheduler,
+        // so players, mobs and the spawn scan do not land on the same tick.
+        scheduler.register("metrics", 1, METRICS_BUDGET_NANOS, this::runFastMetrics);
+        playersTask = scheduler.register("players", COUNTER_UPDATE_INTERVAL_TICKS, COUNTER_BUDGET_NANOS, this::runPlayerCounters);
+        mobsTask = scheduler.register("mobs", COUNTER_UPDATE_INTERVAL_TICKS, COUNTER_BUDGET_NANOS, this::runMobCounters);
+        spawnScanTask = scheduler.register("spawnScan", SPAWN_SCAN_INTERVAL_TICKS, SPAWN_SCAN_BUDGET_NANOS, this::runSpawnScan);
+        scheduler.register("lightOverlay", LIGHT_OVERLAY_INTERVAL_TICKS, COUNTER_BUDGET_NANOS, this::runLightOverlay);
+        scheduler.register("telemetry", InfoHubConfig.get().telemetryIntervalTicks, METRICS_BUDGET_NANOS, this::runTelemetry);
     }
 
     // ----------------------------
@@ -116,24 +215,160 @@ public final class InfoHubState {
     public void onJoinWorld(MinecraftClient client) {
         // Don't keep world refs across reconnects.
         lastWorld = client.world;
-        notifyInitialized = false;
-        playersWithinNotifyRange.clear();
-        spawnMarkerPositions.clear();
+        mobClassifier.rebuild(); // raw ids may be remapped per server
+        SpawnStateTable.rebuild();
+        nearby.enableTypes(mobBreakdownEnabled ? mobClassifier.typeCount() : 0);
+        nearby.resetNotify();
+        notifier.clearPending();
+        clearSpawnMarkers();
         resetCounters();
+        governor.reset();
+        openSpawnDiskCache(client, client.world);
+
+        stopRecording();
+        if (InfoHubConfig.get().recordSessions) {
+            startRecording(client.world);
+        }
+
+        stopTelemetry();
+        if (InfoHubConfig.get().telemetryExport) {
+            startTelemetry();
+        }
     }
 
     public void onLeaveWorld() {
+        stopRecording();
+        stopTelemetry();
+        openSpawnDiskCache(null, null);
         lastWorld = null;
-        notifyInitialized = false;
-        playersWithinNotifyRange.clear();
-        spawnMarkerPositions.clear();
+        mobIndex.clear();
+        nearby.resetNotify();
+        notifier.clearPending();
+        clearSpawnMarkers();
+        lightOverlay.clear();
         resetCounters();
     }
 
+    private void startRecording(ClientWorld world) {
+        String name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT)) + ".ihs.gz";
+        Path file = FabricLoader.getInstance().getGameDir().resolve("infohub").resolve("sessions").resolve(name);
+
+        int reach = Math.max(playerRings.maxLengthRadiusBlocks(), mobRings.maxLengthRadiusBlocks());
+        reach = Math.max(reach, (mobRings.maxChunkRadius() + 1) * 16);
+        recorder = SessionRecorder.start(file, reach);
+        if (recorder != null && world != null) {
+            recorder.world(world);
+        }
+    }
+
+    private void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+    private void startTelemetry() {
+        String session = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT));
+        Path dir = FabricLoader.getInstance().getGameDir().resolve("infohub").resolve("telemetry");
+
+        int[] playerRadii = new int[playerRings.ringCount()];
+        for (int i = 0; i < playerRadii.length; i++) playerRadii[i] = playerRings.ring(i).radiusChunks;
+        int[] mobRadii = new int[mobRings.ringCount()];
+        for (int i = 0; i < mobRadii.length; i++) mobRadii[i] = mobRings.ring(i).radiusChunks;
+        String[] labels = new String[SUBSYSTEMS.length];
+        for (int i = 0; i < labels.length; i++) labels[i] = SUBSYSTEMS[i].getLabel();
+
+        telemetry = TelemetryExporter.start(dir, session, InfoHubConfig.get().telemetryRotateMegabytes,
+                playerRadii, mobRadii, labels);
+    }
+
+    private void stopTelemetry() {
+        if (telemetry != null) {
+            telemetry.close();
+            telemetry = null;
+        }
+    }
+
+    /**
+     * Closes the current persistent spawn cache and opens the one of the given world (null = none).
+     */
+    private void openSpawnDiskCache(MinecraftClient client, ClientWorld world) {
+        if (spawnDiskCache != null) {
+            spawnDiskCache.close();
+            spawnDiskCache = null;
+        }
+        if (world != null && InfoHubConfig.get().spawnDiskCache) {
+            spawnDiskCache = SpawnDiskCache.open(client, world);
+        }
+    }
+
+    private void clearSpawnMarkers() {
+        spawnScanGeneration++; // drops any in-flight worker result
+        if (spawnScanCapturing) {
+            // The job never reached the worker, so it is still ours to reset.
+            spawnScanCapturing = false;
+            spawnScanJob.reset();
+        }
+        spawnMarkerFront.clear();
+        spawnMarkerVersion++;
+        spawnSectionCache.clear();
+        restartSpawnScan();
+        spawnScanStreaming = false;
+    }
+
+    /**
+     * Makes the next scan re-collect the markers (new radius, marker cap or world); a plan in
+     * progress is dropped, it would otherwise finish with the old settings and count as current.
+     */
+    private void restartSpawnScan() {
+        if (spawnScanPlanning) {
+            spawnScanPlanning = false;
+            spawnScanJob.reset();
+        }
+        lastSpawnScanCenter = Long.MIN_VALUE;
+    }
+
+    // ----------------------------
+    // World change notifications (block/light updates, chunk load/unload)
+    // ----------------------------
+
+    public void onBlockUpdate(ClientWorld world, BlockPos pos) {
+        if (world != lastWorld) return;
+        spawnSectionCache.invalidateBlock(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public void onLightUpdate(ChunkSectionPos pos) {
+        spawnSectionCache.invalidateSection(pos.getSectionX(), pos.getSectionY(), pos.getSectionZ());
+    }
+
+    public void onEntityLoad(Entity entity, ClientWorld world) {
+        mobIndex.onLoad(entity, world);
+    }
+
+    public void onEntityUnload(Entity entity, ClientWorld world) {
+        mobIndex.onUnload(entity, world);
+    }
+
+    public void onEntityMoved(Entity entity) {
+        mobIndex.onMoved(entity);
+    }
+
+    public void onChunkLoad(ClientWorld world, int chunkX, int chunkZ) {
+        if (world != lastWorld) return;
+        spawnSectionCache.invalidateColumn(chunkX, chunkZ);
+    }
+
+    public void onChunkUnload(ClientWorld world, int chunkX, int chunkZ) {
+        if (world != lastWorld) return;
+        spawnSectionCache.invalidateColumn(chunkX, chunkZ);
+    }
+
     private void resetCounters() {
         fps = 0;
         rttMs = 0;
         speedBps = 0.0;
+        metrics.clear();
         isNight = false;
         secondsToTransition = 0;
         lightCombined = 0;
@@ -143,9 +378,18 @@ public final class InfoHubState {
         for (int i = 0; i < playersInRadius.length; i++) {
             playersInRadius[i] = 0;
         }
+        resetMobBreakdown();
+        mobHeatmap.clear();
         for (MobCounts mc : mobsInRadius) {
             mc.reset();
         }
+
+        // Rebuild all text once: the breakdown line keys on type channels, whose names can change
+        // with the classifier rebuilt on join.
+        hudLine1.invalidate();
+        hudLine2.invalidate();
+        hudLine3.invalidate();
+        mobBreakdownLine.invalidate();
     }
 
     // ----------------------------
@@ -153,13 +397,22 @@ public final class InfoHubState {
     // ----------------------------
 
     public void onClientTick(MinecraftClient client) {
+        final long start = System.nanoTime();
+        profiler.rollIfDue(start);
+
+        tick(client);
+
+        profiler.record(InfoHubProfiler.Subsystem.TICK, System.nanoTime() - start);
+    }
+
+    private void tick(MinecraftClient client) {
         clientTicks++;
 
         // Hotkey handling
         while (InfoHubClient.TOGGLE_SPAWN_MARKERS.wasPressed()) {
             spawnMarkersEnabled = !spawnMarkersEnabled;
             if (!spawnMarkersEnabled) {
-                spawnMarkerPositions.clear();
+                clearSpawnMarkers();
             }
             if (client.player != null && client.inGameHud != null) {
                 client.inGameHud.getChatHud().addMessage(Text.literal(
@@ -167,6 +420,38 @@ public final class InfoHubState {
                 ));
             }
         }
+        while (InfoHubClient.TOGGLE_LIGHT_OVERLAY.wasPressed()) {
+            lightOverlayEnabled = !lightOverlayEnabled;
+            lightOverlay.clear();
+            if (client.player != null && client.inGameHud != null) {
+                client.inGameHud.getChatHud().addMessage(Text.literal(
+                        "[InfoHub] Light levels: " + (lightOverlayEnabled ? "ON" : "OFF")
+                ));
+            }
+        }
+        while (InfoHubClient.TOGGLE_PROFILER_HUD.wasPressed()) {
+            profiler.toggleHud();
+        }
+        while (InfoHubClient.TOGGLE_METRICS_HUD.wasPressed()) {
+            metricsHudEnabled = !metricsHudEnabled;
+        }
+        while (InfoHubClient.TOGGLE_MOB_BREAKDOWN.wasPressed()) {
+            mobBreakdownEnabled = !mobBreakdownEnabled;
+            nearby.enableTypes(mobBreakdownEnabled ? mobClassifier.typeCount() : 0);
+            resetMobBreakdown();
+        }
+        while (InfoHubClient.TOGGLE_MOB_HEATMAP.wasPressed()) {
+            mobHeatmapEnabled = !mobHeatmapEnabled;
+        }
+        while (InfoHubClient.CYCLE_SPAWN_MARKER_STYLE.wasPressed()) {
+            spawnMarkerStyle = spawnMarkerStyle.next();
+            restartSpawnScan(); // re-collect with the style's marker cap
+            if (client.player != null && client.inGameHud != null) {
+                client.inGameHud.getChatHud().addMessage(Text.literal(
+                        "[InfoHub] Spawn marker style: " + spawnMarkerStyle.getLabel()
+                ));
+            }
+        }
 
         final ClientWorld world = client.world;
         final PlayerEntity player = client.player;
@@ -180,28 +465,121 @@ public final class InfoHubState {
         // World change detection (e.g. dimension switch)
         if (lastWorld != world) {
             lastWorld = world;
-            notifyInitialized = false;
-            playersWithinNotifyRange.clear();
-            spawnMarkerPositions.clear();
+            nearby.resetNotify();
+            notifier.clearPending();
+            clearSpawnMarkers();
+            lightOverlay.clear();
+            scheduler.reset();
+            openSpawnDiskCache(client, world);
+            if (recorder != null) recorder.world(world);
+        }
+
+        if (recorder != null) {
+            recorder.tick(clientTicks, world, player);
         }
 
+        // Finished off-thread spawn scans are applied every tick (pointer swap only).
+        pollSpawnScanResult();
+
+        // Everything else runs as budgeted, phase-staggered tasks.
+        scheduler.tick(client, clientTicks);
+    }
+
+    /**
+     * Called once per rendered frame (frame-time history).
+     */
+    public void onFrame(long nowNanos) {
+        int frameMicros = metrics.onFrame(nowNanos);
+        if (frameMicros >= 0) governor.onFrame(frameMicros);
+    }
+
+    // ----------------------------
+    // Scheduled tasks (world + player are non-null when the scheduler runs)
+    // ----------------------------
+
+    private boolean runFastMetrics(MinecraftClient client, long deadlineNanos) {
         // Fast metrics (every tick, cheap)
         fps = MinecraftClient.getCurrentFps();
-        speedBps = computeHorizontalSpeedBps(player);
-        updateDayNight(world);
-        updateLight(world, player);
-        rttMs = computeRttMs(client, player);
+        speedBps = computeHorizontalSpeedBps(client.player);
+        updateDayNight(client.world);
+        updateLight(client.world, client.player);
+        rttMs = computeRttMs(client, client.player);
+        metrics.onTick(rttMs, speedHundredths());
+        metrics.publish();
+        if (governor.update(clientTicks)) {
+            applyQualityLevel();
+        }
+        return true;
+    }
 
+    /**
+     * Pushes the governor's current level into the scan radius and task periods; the marker cap is
+     * read per job.
+     */
+    private void applyQualityLevel() {
+        spawnScanRadius = governor.spawnScanRadius(InfoHubConfig.get().spawnScanRadius);
+        playersTask.setPeriodTicks(governor.counterIntervalTicks(COUNTER_UPDATE_INTERVAL_TICKS));
+        mobsTask.setPeriodTicks(governor.counterIntervalTicks(COUNTER_UPDATE_INTERVAL_TICKS));
+        spawnScanTask.setPeriodTicks(governor.spawnScanIntervalTicks(SPAWN_SCAN_INTERVAL_TICKS));
+        restartSpawnScan(); // re-collect with the new radius / cap
+        InfoHubClient.LOGGER.debug("InfoHub quality level {} (scan radius {})", governor.level(), spawnScanRadius);
+    }
+
+    private boolean runPlayerCounters(MinecraftClient client, long deadlineNanos) {
         // Throttled counters (players/mobs) – avoid doing this each frame.
-        if ((clientTicks % COUNTER_UPDATE_INTERVAL_TICKS) == 0) {
-            updatePlayerCountersAndNotifications(world, player, client);
-            updateMobCounters(world, player);
+        final long start = System.nanoTime();
+        updatePlayerCountersAndNotifications(client.world, client.player, client);
+        profiler.record(InfoHubProfiler.Subsystem.PLAYERS, System.nanoTime() - start);
+        return true;
+    }
+
+    private boolean runMobCounters(MinecraftClient client, long deadlineNanos) {
+        final long start = System.nanoTime();
+        updateMobCounters(client.world, client.player);
+        profiler.record(InfoHubProfiler.Subsystem.MOBS, System.nanoTime() - start);
+        return true;
+    }
+
+    private boolean runLightOverlay(MinecraftClient client, long deadlineNanos) {
+        if (lightOverlayEnabled) {
+            lightOverlay.update(client.world, client.player);
         }
+        return true;
+    }
+
+    private boolean runSpawnScan(MinecraftClient client, long deadlineNanos) {
+        if (!spawnMarkersEnabled) return true;
 
-        // Spawn marker scan (throttled)
-        if (spawnMarkersEnabled && (clientTicks % SPAWN_SCAN_INTERVAL_TICKS) == 0) {
-            rescanSpawnMarkers(world, player);
+        final long start = System.nanoTime();
+        boolean done = rescanSpawnMarkers(client.world, client.player, deadlineNanos);
+        profiler.record(InfoHubProfiler.Subsystem.SPAWN_CAPTURE, System.nanoTime() - start);
+        return done;
+    }
+
+    private boolean runTelemetry(MinecraftClient client, long deadlineNanos) {
+        TelemetryExporter t = telemetry;
+        if (t == null || !t.begin()) return true;
+
+        t.put(clientTicks)
+                .put(System.currentTimeMillis())
+                .put(fps)
+                .put(metrics.getFrameP50Micros())
+                .put(metrics.getFrameP99Micros())
+                .put(rttMs)
+                .put(speedHundredths())
+                .put(lightCombined)
+                .put(spawnMarkerFront.size());
+        for (int count : playersInRadius) {
+            t.put(count);
+        }
+        for (MobCounts m : mobsInRadius) {
+            t.put(m.hostile).put(m.nonHostile);
         }
+        for (InfoHubProfiler.Subsystem sub : SUBSYSTEMS) {
+            t.put(profiler.getP50Nanos(sub)).put(profiler.getP99Nanos(sub));
+        }
+        t.commit();
+        return true;
     }
 
     private static double computeHorizontalSpeedBps(PlayerEntity player) {
@@ -223,12 +601,17 @@ public final class InfoHubState {
 
     private void updateLight(ClientWorld world, PlayerEntity player) {
         // "Block I'm standing on" -> block below feet.
-        BlockPos ground = player.getBlockPos().down();
-
-        // Combined light, and split sky/block (useful for spawn reasoning).
-        lightCombined = world.getLightLevel(ground);
-        lightSky = world.getLightLevel(LightType.SKY, ground);
-        lightBlock = world.getLightLevel(LightType.BLOCK, ground);
+        final int x = player.getBlockX();
+        final int y = player.getBlockY() - 1;
+        final int z = player.getBlockZ();
+
+        // Combined light, and split sky/block (useful for spawn reasoning); one nibble fetch each.
+        sectionLight.load(world,
+                ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(y), ChunkSectionPos.getSectionCoord(z));
+        lightSky = sectionLight.sky(x & 15, y & 15, z & 15);
+        lightBlock = sectionLight.block(x & 15, y & 15, z & 15);
+        lightCombined = sectionLight.combined(x & 15, y & 15, z & 15);
+        sectionLight.clear();
     }
 
     private static int computeRttMs(MinecraftClient client, PlayerEntity player) {
@@ -242,189 +625,376 @@ public final class InfoHubState {
     }
 
     private void updatePlayerCountersAndNotifications(ClientWorld world, PlayerEntity player, MinecraftClient client) {
-        for (int i = 0; i < playersInRadius.length; i++) {
-            playersInRadius[i] = 0;
-        }
-
-        final double px = player.getX();
-        final double pz = player.getZ();
-
-        // Precompute squared radii (length-based chunks => blocks).
-        final double r3 = PLAYER_COUNT_RADII_CHUNKS[0] * 16.0;
-        final double r5 = PLAYER_COUNT_RADII_CHUNKS[1] * 16.0;
-        final double r7 = PLAYER_COUNT_RADII_CHUNKS[2] * 16.0;
+        CounterUpdateEvent event = new CounterUpdateEvent();
+        event.begin();
 
-        final double r3Sq = r3 * r3;
-        final double r5Sq = r5 * r5;
-        final double r7Sq = r7 * r7;
+        entityView.bind(world, player);
+        try {
+            nearby.updatePlayers(entityView);
 
-        final double notifyR = PLAYER_NOTIFY_RADIUS_CHUNKS * 16.0;
-        final double notifyRSq = notifyR * notifyR;
-
-        // Track who is currently within notify radius
-        Set<UUID> currentlyInNotifyRange = new HashSet<>();
-
-        for (PlayerEntity other : world.getPlayers()) {
-            if (other == player) continue;
-
-            double dx = other.getX() - px;
-            double dz = other.getZ() - pz;
-            double distSq = dx * dx + dz * dz;
-
-            if (distSq <= r7Sq) {
-                // Note: We count inclusively (e.g., if in 3-chunk radius, also counts for 5 and 7).
-                if (distSq <= r3Sq) playersInRadius[0]++;
-                if (distSq <= r5Sq) playersInRadius[1]++;
-                playersInRadius[2]++;
-
-                if (distSq <= notifyRSq) {
-                    currentlyInNotifyRange.add(other.getUuid());
+            // Events are only collected here; one coalesced message per window (rate limited).
+            IntArrayList entered = nearby.entered();
+            for (int i = 0; i < entered.size(); i++) {
+                notifier.onEnter(entityView.otherPlayer(entered.getInt(i)));
+            }
+            if (notifier.reportsLeaves()) {
+                for (int i = 0; i < nearby.leftCount(); i++) {
+                    notifier.onLeave(nearby.leftUuidMsb(i), nearby.leftUuidLsb(i));
                 }
             }
+        } finally {
+            entityView.unbind();
         }
+        notifier.flush(clientTicks, client.inGameHud.getChatHud());
 
-        // Notify on "new players entered notify range".
-        if (!notifyInitialized) {
-            // First update after join/world change -> initialize without messaging.
-            playersWithinNotifyRange.clear();
-            playersWithinNotifyRange.addAll(currentlyInNotifyRange);
-            notifyInitialized = true;
-            return;
+        for (int r = 0; r < playersInRadius.length; r++) {
+            playersInRadius[r] = nearby.playersInRing(r);
         }
 
-        for (UUID uuid : currentlyInNotifyRange) {
-            if (!playersWithinNotifyRange.contains(uuid)) {
-                PlayerEntity newGuy = world.getPlayerByUuid(uuid);
-                String name = (newGuy != null && newGuy.getName() != null) ? newGuy.getName().getString() : uuid.toString();
-                client.inGameHud.getChatHud().addMessage(Text.literal("[InfoHub] Player nearby (<= " + (PLAYER_NOTIFY_RADIUS_CHUNKS * 16) + "b): " + name));
-            }
+        if (event.shouldCommit()) {
+            event.kind = "players";
+            event.visited = nearby.lastVisited();
+            event.counted = nearby.lastCounted();
+            event.commit();
         }
-
-        playersWithinNotifyRange.clear();
-        playersWithinNotifyRange.addAll(currentlyInNotifyRange);
     }
 
     private void updateMobCounters(ClientWorld world, PlayerEntity player) {
         for (MobCounts mc : mobsInRadius) mc.reset();
+        if (!mobIndex.isFor(world)) return; // no mob loaded in this world yet
 
-        final double px = player.getX();
-        final double pz = player.getZ();
-
-        // Largest radius is 4 chunks => 64 blocks.
-        final double maxR = 4 * 16.0;
-
-        // Get mobs in a bounding box first, then apply distance / chunk rules.
-        int bottomY = world.getBottomY();
-        int topY = world.getTopY();
-
-        Box box = new Box(px - maxR, bottomY, pz - maxR, px + maxR, topY, pz + maxR);
+        CounterUpdateEvent event = new CounterUpdateEvent();
+        event.begin();
 
-        List<MobEntity> mobs = world.getEntitiesByClass(MobEntity.class, box, (e) -> true);
+        entityView.bind(world, player);
+        try {
+            nearby.updateMobs(entityView, mobIndex);
+        } finally {
+            entityView.unbind();
+        }
 
-        // For the special "2 chunk radius" (chunk-border based)
-        ChunkPos playerChunk = new ChunkPos(player.getBlockPos());
+        for (int r = 0; r < mobsInRadius.length; r++) {
+            mobsInRadius[r].hostile = nearby.hostileInRing(r);
+            mobsInRadius[r].nonHostile = nearby.nonHostileInRing(r);
+        }
+        if (mobBreakdownEnabled) {
+            updateMobBreakdown();
+        }
+        mobHeatmap.sample(mobIndex, player.getChunkPos().x, player.getChunkPos().z, clientTicks);
 
-        // Squared radii for the length-based ones
-        final double r1Sq = (1 * 16.0) * (1 * 16.0);
-        final double r3Sq = (3 * 16.0) * (3 * 16.0);
-        final double r4Sq = (4 * 16.0) * (4 * 16.0);
+        if (event.shouldCommit()) {
+            event.kind = "mobs";
+            event.visited = nearby.lastVisited();
+            event.counted = nearby.lastCounted();
+            event.commit();
+        }
+    }
 
-        for (MobEntity mob : mobs) {
-            if (mob.isRemoved()) continue;
+    /**
+     * Category totals and the most common types of the breakdown ring, from the per-type counts.
+     */
+    private void updateMobBreakdown() {
+        Arrays.fill(mobCategoryCounts, 0);
+        for (int t = 0; t < mobClassifier.typeCount(); t++) {
+            int c = nearby.typeInRing(mobBreakdownRing, t);
+            if (c != 0) mobCategoryCounts[mobClassifier.category(t).ordinal()] += c;
+        }
+        mobTopSize = nearby.topTypes(mobBreakdownRing, mobTopTypes, mobTopCounts);
+    }
 
-            boolean hostile = mob instanceof HostileEntity;
+    private void resetMobBreakdown() {
+        Arrays.fill(mobCategoryCounts, 0);
+        mobTopSize = 0;
+    }
 
-            // Length-based radii (1/3/4)
-            double dx = mob.getX() - px;
-            double dz = mob.getZ() - pz;
-            double distSq = dx * dx + dz * dz;
+    private static int largestRing(RingCounter rings) {
+        int best = 0;
+        for (int i = 1; i < rings.ringCount(); i++) {
+            if (rings.ring(i).radiusChunks > rings.ring(best).radiusChunks) best = i;
+        }
+        return best;
+    }
 
-            if (distSq <= r1Sq) {
-                inc(mobsInRadius[0], hostile);
+    /**
+     * Applies a finished worker job (if any). Jobs from an older generation
+     * (world change, disconnect, markers toggled off) are dropped.
+     */
+    private void pollSpawnScanResult() {
+        SpawnScanWorker.Job job = spawnScanWorker.poll();
+        if (job == null) return;
+
+        profiler.record(InfoHubProfiler.Subsystem.SPAWN_WORKER, job.workerNanos);
+
+        PackedPosBuffer filled = job.markers;
+        if (job.failed) {
+            // Release the sections so the next plan picks them up again; the front markers stay.
+            if (job.generation == spawnScanGeneration) {
+                for (int i = 0; i < job.computeKeys.size(); i++) {
+                    spawnSectionCache.cancelInFlight(job.computeKeys.getLong(i));
+                }
             }
-
-            // Special: 2 chunks is chunk-border based.
-            if (isWithinChunkRadius(mob, playerChunk, 2)) {
-                inc(mobsInRadius[1], hostile);
+            spawnMarkerBack = filled;
+        } else if (job.generation == spawnScanGeneration) {
+            for (int i = 0; i < job.computeKeys.size(); i++) {
+                long key = job.computeKeys.getLong(i);
+                long[] bits = job.computedBits.get(i);
+                if (spawnSectionCache.completeInFlight(key, bits) && spawnDiskCache != null) {
+                    spawnDiskCache.store(key, job.computedHashes.getLong(i), bits);
+                }
             }
 
-            if (distSq <= r3Sq) {
-                inc(mobsInRadius[2], hostile);
-            }
-            if (distSq <= r4Sq) {
-                inc(mobsInRadius[3], hostile);
-            }
+            // Front/back swap: the old front becomes the next job's back buffer.
+            spawnMarkerBack = spawnMarkerFront;
+            spawnMarkerFront = filled;
+            spawnMarkerVersion++;
+        } else {
+            spawnMarkerBack = filled;
         }
+        job.reset();
     }
 
-    private static boolean isWithinChunkRadius(Entity e, ChunkPos center, int chunkRadius) {
-        ChunkPos mobChunk = new ChunkPos(e.getBlockPos());
-        return Math.abs(mobChunk.x - center.x) <= chunkRadius
-                && Math.abs(mobChunk.z - center.z) <= chunkRadius;
-    }
+    /**
+     * Client-thread part of a scan: decide which sections are dirty, snapshot them and hand
+     * them to the worker. Nothing is evaluated here.
+     *
+     * Resumable: both the plan (walk over the window, {@link #planSpawnScan}) and the snapshot copy
+     * ({@link #captureSpawnSnapshot}) stop at {@code deadlineNanos} and continue on the next tick
+     * (returns false until the job was submitted).
+     *
+     * Streaming: dirty sections are planned nearest-first and at most {@link #SPAWN_SCAN_SECTIONS_PER_JOB}
+     * go into one job. Each finished job publishes markers for everything cached so far, and while
+     * sections are left over the task stays due, so the next job starts as soon as the worker is free.
+     *
+     * Prefetch: at speed (elytra, boats on ice, minecarts) the window is shifted in the direction of
+     * travel ({@link #spawnPrefetchLead}); the same nearest-first order around the shifted center then
+     * queues sections ahead before those behind, so markers are ready on arrival. The window size and
+     * per-job batch are unchanged.
+     */
+    private boolean rescanSpawnMarkers(ClientWorld world, PlayerEntity player, long deadlineNanos) {
+        if (spawnScanCapturing) {
+            return captureSpawnSnapshot(world, deadlineNanos) && !spawnScanStreaming;
+        }
+        if (spawnScanPlanning) {
+            return planSpawnScan(world, deadlineNanos);
+        }
+        if (spawnScanWorker.isBusy()) return !spawnScanStreaming;
+
+        final BlockPos pos = player.getBlockPos();
+        int leadX = 0;
+        int leadZ = 0;
+        if (speedBps >= SPAWN_PREFETCH_MIN_SPEED_BPS) {
+            Vec3d v = player.getVelocity();
+            leadX = spawnPrefetchLead(v.x, spawnScanRadius / 2);
+            leadZ = spawnPrefetchLead(v.z, spawnScanRadius / 2);
+        }
+        final int cx = pos.getX() + leadX;
+        final int cy = pos.getY();
+        final int cz = pos.getZ() + leadZ;
+
+        // Ground Y range; the stored marker is the spawn block (ground + 1).
+        final int minY = Math.max(world.getBottomY() + 1, cy - spawnScanVertical);
+        final int maxY = Math.min(world.getTopY() - 2, cy + spawnScanVertical);
+        if (minY > maxY) {
+            spawnMarkerFront.clear();
+            spawnMarkerVersion++;
+            spawnScanStreaming = false;
+            return true;
+        }
 
-    private static void inc(MobCounts mc, boolean hostile) {
-        if (hostile) mc.hostile++;
-        else mc.nonHostile++;
+        SpawnScanWorker.Job job = spawnScanJob;
+        job.reset();
+        job.generation = spawnScanGeneration;
+        job.centerX = cx;
+        job.centerY = cy;
+        job.centerZ = cz;
+        job.radius = spawnScanRadius;
+        job.minSpawnY = minY + 1;
+        job.maxSpawnY = maxY + 1;
+        job.minSX = ChunkSectionPos.getSectionCoord(cx - spawnScanRadius);
+        job.maxSX = ChunkSectionPos.getSectionCoord(cx + spawnScanRadius);
+        job.minSZ = ChunkSectionPos.getSectionCoord(cz - spawnScanRadius);
+        job.maxSZ = ChunkSectionPos.getSectionCoord(cz + spawnScanRadius);
+        job.minSY = ChunkSectionPos.getSectionCoord(job.minSpawnY);
+        job.maxSY = ChunkSectionPos.getSectionCoord(job.maxSpawnY);
+        job.markerMax = governor.spawnMarkerMax(spawnMarkerStyle.isMerged() ? SPAWN_MARKER_MAX_MERGED : SPAWN_MARKER_MAX);
+        job.rings = spawnScanRings;
+        job.hashResults = spawnDiskCache != null;
+
+        spawnScanPlanning = true;
+        spawnScanPlanRing = 0;
+        spawnScanStreaming = false;
+        return planSpawnScan(world, deadlineNanos);
     }
 
-    private void rescanSpawnMarkers(ClientWorld world, PlayerEntity player) {
-        spawnMarkerPositions.clear();
-
-        final int cx = player.getBlockPos().getX();
-        final int cy = player.getBlockPos().getY();
-        final int cz = player.getBlockPos().getZ();
-
-        final int minY = Math.max(world.getBottomY() + 1, cy - SPAWN_SCAN_VERTICAL_BLOCKS);
-        final int maxY = Math.min(world.getTopY() - 2, cy + SPAWN_SCAN_VERTICAL_BLOCKS);
+    /**
+     * Walks the job's window nearest-first, one chunk column at a time, until done or out of time;
+     * then starts the snapshot copy.
+     *
+     * Only sections without a cached result (never scanned or invalidated) are evaluated, at most
+     * {@link #SPAWN_SCAN_SECTIONS_PER_JOB} of them; every cached bitset of the window is handed to the
+     * worker for the marker set. Per section this is a chunk lookup plus cache lookups (no block reads),
+     * so a full walk grows with radius² × vertical range; the ring cursor spreads it over ticks.
+     * Stored results are read from already-mapped region files only; a section whose region is still
+     * being opened ({@link SpawnDiskCache#PENDING}) is left for a later job.
+     *
+     * Important:
+     * - The window is fixed when the plan starts; a player who moves meanwhile is caught up by the next job.
+     * - A section invalidated after it was walked keeps its old bitset in this job only (it is no longer
+     *   cached, so the next job recomputes it).
+     */
+    private boolean planSpawnScan(ClientWorld world, long deadlineNanos) {
+        SpawnScanWorker.Job job = spawnScanJob;
+
+        // Sections that are empty together with the section below (sky, caves of air) have nothing
+        // to stand on; they are settled here without a snapshot copy.
+        final int centerSX = ChunkSectionPos.getSectionCoord(job.centerX);
+        final int centerSZ = ChunkSectionPos.getSectionCoord(job.centerZ);
+        final int centerSY = Math.clamp(ChunkSectionPos.getSectionCoord(job.centerY), job.minSY, job.maxSY);
+        final int yCount = SectionRings.nearestYCount(centerSY, job.minSY, job.maxSY);
+
+        while (spawnScanPlanRing < spawnScanRings.size()) {
+            int i = spawnScanPlanRing++;
+            int sx = centerSX + spawnScanRings.dx(i);
+            int sz = centerSZ + spawnScanRings.dz(i);
+            if (sx < job.minSX || sx > job.maxSX || sz < job.minSZ || sz > job.maxSZ) continue;
+            if (!world.isChunkLoaded(sx, sz)) continue;
+
+            WorldChunk chunk = world.getChunk(sx, sz);
+            for (int k = 0; k < yCount; k++) {
+                int sy = SectionRings.nearestY(centerSY, k);
+                if (sy < job.minSY || sy > job.maxSY) continue;
+
+                long key = ChunkSectionPos.asLong(sx, sy, sz);
+                if (spawnSectionCache.isInFlight(key)) {
+                    long[] flying = spawnSectionCache.get(key);
+                    if (flying != null) job.cached.put(key, flying); // unverified disk entry being checked
+                    continue;
+                }
 
-        BlockPos.Mutable ground = new BlockPos.Mutable();
-        BlockPos.Mutable spawn = new BlockPos.Mutable();
-        BlockPos.Mutable head = new BlockPos.Mutable();
+                long[] bits = spawnSectionCache.get(key);
+                if (bits == null && spawnDiskCache != null) {
+                    // Known area: show the stored result at once, the worker re-checks it below.
+                    bits = spawnDiskCache.load(key);
+                    if (bits == SpawnDiskCache.PENDING) {
+                        spawnScanStreaming = true; // region file still opening: plan it again next job
+                        continue;
+                    }
+                    if (bits != null) spawnSectionCache.putUnverified(key, bits);
+                }
 
-        // Scan for hostile-mob spawnable spots (simple heuristic):
-        // - solid ground block
-        // - 2 blocks of empty collision above (for typical 2-block tall mobs)
-        // - block light level at spawn position == 0
-        for (int dx = -SPAWN_SCAN_RADIUS_BLOCKS; dx <= SPAWN_SCAN_RADIUS_BLOCKS; dx++) {
-            for (int dz = -SPAWN_SCAN_RADIUS_BLOCKS; dz <= SPAWN_SCAN_RADIUS_BLOCKS; dz++) {
-                for (int y = minY; y <= maxY; y++) {
-                    ground.set(cx + dx, y, cz + dz);
-                    spawn.set(ground.getX(), ground.getY() + 1, ground.getZ());
-                    head.set(ground.getX(), ground.getY() + 2, ground.getZ());
+                if (bits != null) {
+                    job.cached.put(key, bits);
+                    if (!spawnSectionCache.isUnverified(key)) continue;
+                } else if (isEmptySection(world, chunk, sy) && isEmptySection(world, chunk, sy - 1)) {
+                    spawnSectionCache.put(key, SpawnSectionCache.EMPTY);
+                    job.cached.put(key, SpawnSectionCache.EMPTY);
+                    continue;
+                }
 
-                    if (isHostileSpawnableSpot(world, ground, spawn, head)) {
-                        // Store spawn position (the air block where the mob's feet would be).
-                        spawnMarkerPositions.add(spawn.toImmutable());
-                        if (spawnMarkerPositions.size() >= SPAWN_MARKER_MAX) {
-                            return; // hard cap
-                        }
-                    }
+                if (job.computeKeys.size() < SPAWN_SCAN_SECTIONS_PER_JOB) {
+                    job.computeKeys.add(key);
+                    job.expectedHashes.add(bits != null ? spawnDiskCache.storedHash(key) : 0L);
+                } else {
+                    spawnScanStreaming = true; // picked up by the next job
                 }
             }
+
+            if (System.nanoTime() >= deadlineNanos && spawnScanPlanRing < spawnScanRings.size()) {
+                return false; // resume next tick
+            }
+        }
+        spawnScanPlanning = false;
+
+        long center = BlockPos.asLong(job.centerX, job.centerY, job.centerZ);
+        if (job.computeKeys.isEmpty() && center == lastSpawnScanCenter) {
+            job.reset();
+            return !spawnScanStreaming; // nothing moved or invalidated (only disk regions still opening)
         }
+
+        if (ChunkSectionPos.fromBlockPos(center) != ChunkSectionPos.fromBlockPos(lastSpawnScanCenter)) {
+            spawnSectionCache.retainWindow(
+                    job.minSX - SPAWN_CACHE_MARGIN_SECTIONS, job.minSY - SPAWN_CACHE_MARGIN_SECTIONS, job.minSZ - SPAWN_CACHE_MARGIN_SECTIONS,
+                    job.maxSX + SPAWN_CACHE_MARGIN_SECTIONS, job.maxSY + SPAWN_CACHE_MARGIN_SECTIONS, job.maxSZ + SPAWN_CACHE_MARGIN_SECTIONS
+            );
+        }
+        lastSpawnScanCenter = center;
+
+        job.snapshot = SpawnSnapshot.create(world);
+        spawnScanCapturing = true;
+        spawnScanCaptureIndex = 0;
+        return captureSpawnSnapshot(world, deadlineNanos) && !spawnScanStreaming;
     }
 
-    private static boolean isHostileSpawnableSpot(ClientWorld world, BlockPos ground, BlockPos spawn, BlockPos head) {
-        BlockState groundState = world.getBlockState(ground);
-        if (groundState.isAir()) return false;
+    /**
+     * Scan-center offset along one axis for a velocity in blocks/tick: {@link #SPAWN_PREFETCH_TICKS}
+     * of travel, rounded to {@link #SPAWN_PREFETCH_STEP_BLOCKS} (so the center does not move with
+     * every small speed change and cached plans stay valid) and capped at {@code maxBlocks}.
+     */
+    private static int spawnPrefetchLead(double velocityPerTick, int maxBlocks) {
+        long steps = Math.round(velocityPerTick * SPAWN_PREFETCH_TICKS / SPAWN_PREFETCH_STEP_BLOCKS);
+        return Math.clamp(steps * SPAWN_PREFETCH_STEP_BLOCKS, -maxBlocks, maxBlocks);
+    }
 
-        // Solid top surface
-        if (!groundState.isSolidBlock(world, ground)) return false;
+    private static boolean isEmptySection(ClientWorld world, WorldChunk chunk, int sy) {
+        int index = world.sectionCoordToIndex(sy);
+        if (index < 0 || index >= world.countVerticalSections()) return true;
+        ChunkSection section = chunk.getSection(index);
+        return section == null || section.isEmpty();
+    }
 
-        // Space for body/head (collision must be empty, and no fluids)
-        BlockState spawnState = world.getBlockState(spawn);
-        if (!spawnState.getCollisionShape(world, spawn).isEmpty()) return false;
-        if (!world.getFluidState(spawn).isEmpty()) return false;
+    /**
+     * Copies the planned sections into the job's snapshot until done or out of time, then submits.
+     */
+    private boolean captureSpawnSnapshot(ClientWorld world, long deadlineNanos) {
+        SpawnScanWorker.Job job = spawnScanJob;
+
+        // Snapshot each dirty section plus its neighbours above/below (ground and head blocks).
+        while (spawnScanCaptureIndex < job.computeKeys.size()) {
+            long key = job.computeKeys.getLong(spawnScanCaptureIndex++);
+            int sx = ChunkSectionPos.unpackX(key);
+            int sy = ChunkSectionPos.unpackY(key);
+            int sz = ChunkSectionPos.unpackZ(key);
+            job.snapshot.capture(world, sx, sy - 1, sz);
+            job.snapshot.capture(world, sx, sy, sz);
+            job.snapshot.capture(world, sx, sy + 1, sz);
+            spawnSectionCache.markInFlight(key);
+            if (recorder != null) {
+                recorder.section(world, sx, sy - 1, sz);
+                recorder.section(world, sx, sy, sz);
+                recorder.section(world, sx, sy + 1, sz);
+            }
 
-        BlockState headState = world.getBlockState(head);
-        if (!headState.getCollisionShape(world, head).isEmpty()) return false;
-        if (!world.getFluidState(head).isEmpty()) return false;
+            if (System.nanoTime() >= deadlineNanos && spawnScanCaptureIndex < job.computeKeys.size()) {
+                return false; // resume next tick
+            }
+        }
 
-        // Hostile-mob relevant light rule: "block light" must be 0.
-        // (This matches current modern spawning behavior for most hostile mobs.)
-        int blockLight = world.getLightLevel(LightType.BLOCK, spawn);
-        return blockLight == 0;
+        spawnScanCapturing = false;
+        if (recorder != null) recorder.scan(job.computeKeys);
+        job.markers = spawnMarkerBack;
+        spawnScanWorker.submit(job);
+        return true;
+    }
+
+    /**
+     * Sets the values the HUD lines are built from, without a running client (headless benchmarks).
+     * Every player ring gets {@code players}, every mob ring {@code hostile} / {@code nonHostile}.
+     */
+    void setHudSample(int fps, int rttMs, double speedBps, boolean night, int secondsToTransition,
+                      int light, int players, int hostile, int nonHostile) {
+        this.fps = fps;
+        this.rttMs = rttMs;
+        this.speedBps = speedBps;
+        this.isNight = night;
+        this.secondsToTransition = secondsToTransition;
+        this.lightCombined = light;
+        this.lightSky = 0;
+        this.lightBlock = light;
+        Arrays.fill(playersInRadius, players);
+        for (MobCounts m : mobsInRadius) {
+            m.hostile = hostile;
+            m.nonHostile = nonHostile;
+        }
     }
 
     // ----------------------------
@@ -477,51 +1047,154 @@ public final class InfoHubState {
         return spawnMarkersEnabled;
     }
 
+    public boolean isMetricsHudEnabled() {
+        return metricsHudEnabled;
+    }
+
+    public boolean isMobBreakdownEnabled() {
+        return mobBreakdownEnabled;
+    }
+
+    public boolean isMobHeatmapEnabled() {
+        return mobHeatmapEnabled;
+    }
+
+    /**
+     * Render-only access – decaying mob density around the player.
+     */
+    MobHeatmap getMobHeatmap() {
+        return mobHeatmap;
+    }
+
+    /**
+     * Render-only access – rolling metric windows and their published percentiles.
+     */
+    RollingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isLightOverlayEnabled() {
+        return lightOverlayEnabled;
+    }
+
     /**
-     * Render-only access – do not modify this list.
+     * Render-only access – labels of the light-level overlay (rebuilt every few ticks).
      */
-    public List<BlockPos> getSpawnMarkerPositions() {
-        return spawnMarkerPositions;
+    LightLevelOverlay getLightOverlay() {
+        return lightOverlay;
+    }
+
+    public SpawnMarkerStyle getSpawnMarkerStyle() {
+        return spawnMarkerStyle;
+    }
+
+    /**
+     * Render-only access – packed positions of the current front buffer (swapped when a scan finishes).
+     */
+    public PackedPosView getSpawnMarkerPositions() {
+        return spawnMarkerFront;
+    }
+
+    /**
+     * Changes whenever {@link #getSpawnMarkerPositions()} changes; lets the renderer cache derived geometry.
+     */
+    public int getSpawnMarkerVersion() {
+        return spawnMarkerVersion;
+    }
+
+    private static String buildRingsLabel(String prefix, RingCounter rings) {
+        StringBuilder sb = new StringBuilder(prefix);
+        for (int i = 0; i < rings.ringCount(); i++) {
+            if (i > 0) sb.append('/');
+            sb.append(rings.ring(i).radiusChunks);
+        }
+        return sb.append(':').toString();
+    }
+
+    /**
+     * Speed as shown on the HUD (hundredths of a block/s, rounded like {@code %.2f}).
+     */
+    private int speedHundredths() {
+        return (int) Math.round(speedBps * 100.0);
     }
 
     public String buildHudLine1() {
-        String tnTd = isNight ? "TD" : "TN";
-        return String.format(Locale.ROOT,
-                "FPS:%d RTT:%dms V:%.2f %s:%ds L:%d(%d/%d)",
-                fps,
-                rttMs,
-                speedBps,
-                tnTd,
-                secondsToTransition,
-                lightCombined,
-                lightSky,
-                lightBlock
-        );
+        HudLine l = hudLine1.begin()
+                .key(fps)
+                .key(rttMs)
+                .key(speedHundredths())
+                .key(isNight)
+                .key(secondsToTransition)
+                .key(lightCombined)
+                .key(lightSky)
+                .key(lightBlock);
+        if (!l.isDirty()) return l.text();
+
+        // FPS:%d RTT:%dms V:%.2f %s:%ds L:%d(%d/%d)
+        return l.clear()
+                .append("FPS:").append(fps)
+                .append(" RTT:").append(rttMs).append("ms")
+                .append(" V:").appendFixed2(speedHundredths())
+                .append(' ').append(isNight ? "TD" : "TN").append(':').append(secondsToTransition).append('s')
+                .append(" L:").append(lightCombined)
+                .append('(').append(lightSky).append('/').append(lightBlock).append(')')
+                .commit();
     }
 
     public String buildHudLine2() {
-        return String.format(Locale.ROOT,
-                "P3/5/7:%d/%d/%d  SM:%s",
-                playersInRadius[0],
-                playersInRadius[1],
-                playersInRadius[2],
-                spawnMarkersEnabled ? "ON" : "OFF"
-        );
+        HudLine l = hudLine2.begin();
+        for (int count : playersInRadius) {
+            l.key(count);
+        }
+        l.key(spawnMarkersEnabled);
+        if (!l.isDirty()) return l.text();
+
+        // P3/5/7:%d/%d/%d  SM:%s
+        l.clear().append(playerRingsLabel);
+        for (int i = 0; i < playersInRadius.length; i++) {
+            if (i > 0) l.append('/');
+            l.append(playersInRadius[i]);
+        }
+        return l.append("  SM:").append(spawnMarkersEnabled ? "ON" : "OFF").commit();
     }
 
     public String buildHudLine3() {
-        MobCounts m1 = mobsInRadius[0];
-        MobCounts m2 = mobsInRadius[1];
-        MobCounts m3 = mobsInRadius[2];
-        MobCounts m4 = mobsInRadius[3];
+        HudLine l = hudLine3.begin();
+        for (MobCounts m : mobsInRadius) {
+            l.key(m.hostile).key(m.nonHostile);
+        }
+        if (!l.isDirty()) return l.text();
 
         // M(H/N) means: hostile / non-hostile
-        return String.format(Locale.ROOT,
-                "M(H/N) 1:%d/%d 2:%d/%d 3:%d/%d 4:%d/%d",
-                m1.hostile, m1.nonHostile,
-                m2.hostile, m2.nonHostile,
-                m3.hostile, m3.nonHostile,
-                m4.hostile, m4.nonHostile
-        );
+        l.clear().append("M(H/N)");
+        for (int i = 0; i < mobsInRadius.length; i++) {
+            MobCounts m = mobsInRadius[i];
+            l.append(' ').append(mobRings.ring(i).radiusChunks).append(':')
+                    .append(m.hostile).append('/').append(m.nonHostile);
+        }
+        return l.commit();
+    }
+
+    public String buildMobBreakdownLine() {
+        HudLine l = mobBreakdownLine.begin().key(mobTopSize);
+        for (int c : mobCategoryCounts) {
+            l.key(c);
+        }
+        for (int i = 0; i < MOB_BREAKDOWN_TYPES; i++) {
+            l.key(i < mobTopSize ? mobTopTypes[i] : -1).key(i < mobTopSize ? mobTopCounts[i] : 0);
+        }
+        if (!l.isDirty()) return l.text();
+
+        // M4: H:%d P:%d ... (categories with mobs only)  zombie:%d cow:%d ...
+        l.clear().append('M').append(mobRings.ring(mobBreakdownRing).radiusChunks).append(':');
+        for (int c = 0; c < MOB_CATEGORIES.length; c++) {
+            if (mobCategoryCounts[c] == 0) continue;
+            l.append(' ').append(MOB_CATEGORIES[c].getLabel()).append(':').append(mobCategoryCounts[c]);
+        }
+        if (mobTopSize > 0) l.append(' ');
+        for (int i = 0; i < mobTopSize; i++) {
+            l.append(' ').append(mobClassifier.typeName(mobTopTypes[i])).append(':').append(mobTopCounts[i]);
+        }
+        return l.commit();
     }
 }
@@ -0,0 +1,84 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds (HDR style).
+ *
+ * Every power of two is split into {@code 2^SUB_BITS} linear sub-buckets, so any recorded value
+ * is reported with at most ~12.5% relative error, from single nanoseconds up to ~18 minutes.
+ *
+ * Important:
+ * - Recording is a few shifts and one array increment; nothing allocates after construction.
+ * - Not thread-safe (callers record from one thread only).
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final int[] counts = new int[BUCKETS];
+    private int total = 0;
+    private long max = 0;
+
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketOf(nanos)]++;
+        total++;
+        if (nanos > max) max = nanos;
+    }
+
+    int count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile (0..1); 0 if nothing was recorded.
+     */
+    long percentile(double quantile) {
+        if (total == 0) return 0;
+        int rank = Math.max(1, (int) Math.ceil(quantile * total));
+        int seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    // ----------------------------
+    // Bucket math
+    // ----------------------------
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
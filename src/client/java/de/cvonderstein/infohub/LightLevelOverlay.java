@@ -0,0 +1,116 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Arrays;
+
+/**
+ * Block-light numbers on every spot a mob could stand on around the player (toggleable).
+ *
+ * Updated on the client thread from the live world, column by column: one chunk lookup per column
+ * and one {@link SectionLight} load per section, then plain section reads for blocks and light.
+ *
+ * Important:
+ * - Only primitive arrays (packed positions + light levels); nothing allocates after warm-up.
+ * - Client thread only (updated by the tick scheduler, read by the world renderer).
+ */
+final class LightLevelOverlay {
+    /** Horizontal radius (blocks) and vertical range (+/- blocks around the player's feet). */
+    private static final int RADIUS_BLOCKS = 12;
+    private static final int VERTICAL_BLOCKS = 6;
+    /** Hard cap on labels (each one is a text draw). */
+    private static final int MAX_LABELS = 1500;
+
+    private final SectionLight sectionLight = new SectionLight();
+    private final BlockPos.Mutable ground = new BlockPos.Mutable();
+    private final BlockPos.Mutable spawn = new BlockPos.Mutable();
+    private final BlockPos.Mutable head = new BlockPos.Mutable();
+
+    private long[] positions = new long[256];
+    private byte[] blockLight = new byte[256];
+    private int size = 0;
+
+    int size() {
+        return size;
+    }
+
+    /** Packed spawn-block position ({@link BlockPos#asLong}) of label {@code i}. */
+    long position(int i) {
+        return positions[i];
+    }
+
+    int blockLight(int i) {
+        return blockLight[i];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void update(ClientWorld world, PlayerEntity player) {
+        size = 0;
+
+        final int cx = player.getBlockX();
+        final int cz = player.getBlockZ();
+        final int minY = Math.max(world.getBottomY() + 1, player.getBlockY() - VERTICAL_BLOCKS);
+        final int maxY = Math.min(world.getTopY() - 2, player.getBlockY() + VERTICAL_BLOCKS);
+
+        for (int chx = (cx - RADIUS_BLOCKS) >> 4; chx <= (cx + RADIUS_BLOCKS) >> 4; chx++) {
+            for (int chz = (cz - RADIUS_BLOCKS) >> 4; chz <= (cz + RADIUS_BLOCKS) >> 4; chz++) {
+                if (!world.isChunkLoaded(chx, chz)) continue;
+                WorldChunk chunk = world.getChunk(chx, chz);
+
+                // Section by section (light nibbles fetched once per section).
+                for (int sy = ChunkSectionPos.getSectionCoord(minY); sy <= ChunkSectionPos.getSectionCoord(maxY); sy++) {
+                    sectionLight.load(world, chx, sy, chz);
+                    boolean full = scanSection(chunk, chx, sy, chz, cx, cz, minY, maxY);
+                    sectionLight.clear();
+                    if (full) return;
+                }
+            }
+        }
+    }
+
+    /** Returns true once the label cap is reached. */
+    private boolean scanSection(WorldChunk chunk, int chx, int sy, int chz, int cx, int cz, int minY, int maxY) {
+        final int baseX = chx << 4;
+        final int baseZ = chz << 4;
+        final int fromY = Math.max(minY, sy << 4);
+        final int toY = Math.min(maxY, (sy << 4) + 15);
+
+        for (int lz = 0; lz < 16; lz++) {
+            int z = baseZ + lz;
+            if (Math.abs(z - cz) > RADIUS_BLOCKS) continue;
+            for (int lx = 0; lx < 16; lx++) {
+                int x = baseX + lx;
+                if (Math.abs(x - cx) > RADIUS_BLOCKS) continue;
+
+                for (int y = fromY; y <= toY; y++) {
+                    // Ground, feet and head all sit in this chunk: read them straight from its sections.
+                    ground.set(x, y - 1, z);
+                    spawn.set(x, y, z);
+                    head.set(x, y + 1, z);
+                    if (!SpawnScanWorker.hasHostileSpawnSpace(chunk, ground, spawn, head)) continue;
+
+                    add(BlockPos.asLong(x, y, z), sectionLight.block(lx, y & 15, lz));
+                    if (size >= MAX_LABELS) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void add(long pos, int light) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            blockLight = Arrays.copyOf(blockLight, size * 2);
+        }
+        positions[size] = pos;
+        blockLight[size] = (byte) light;
+        size++;
+    }
+}
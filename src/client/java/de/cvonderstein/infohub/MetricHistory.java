@@ -0,0 +1,128 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size history of the last N samples of one metric, with rolling percentiles.
+ *
+ * Samples live in a primitive ring buffer. Next to it a log-linear bucket histogram (same buckets as
+ * {@link LatencyHistogram}) is kept in sync: every add increments the new sample's bucket and
+ * decrements the bucket of the sample it overwrites, so percentiles always describe exactly the
+ * samples in the window, without sorting or rescanning them. The window max is kept the same way,
+ * in a monotonic queue (candidates for "max of the window", each newer and smaller than the one
+ * before; amortized O(1) per add).
+ *
+ * Important:
+ * - No allocation after construction.
+ * - Percentiles are bucket upper bounds (at most ~12.5% high), capped at the window's max.
+ * - Not thread-safe.
+ */
+final class MetricHistory {
+    private final int[] samples;
+    private final int[] bucketCounts = new int[LatencyHistogram.bucketOf(Integer.MAX_VALUE) + 1];
+    private int next = 0; // index the next sample goes to
+    private int size = 0;
+
+    // Monotonic max queue (ring): sequence number + value, values non-increasing from head to tail
+    private final long[] maxSeq;
+    private final int[] maxValue;
+    private int maxHead = 0;
+    private int maxCount = 0;
+    private long seq = 0L; // samples added so far
+
+    MetricHistory(int capacity) {
+        samples = new int[capacity];
+        maxSeq = new long[capacity];
+        maxValue = new int[capacity];
+    }
+
+    void add(int value) {
+        if (value < 0) value = 0;
+        if (size == samples.length) {
+            bucketCounts[LatencyHistogram.bucketOf(samples[next])]--;
+        } else {
+            size++;
+        }
+        samples[next] = value;
+        bucketCounts[LatencyHistogram.bucketOf(value)]++;
+        next = next + 1 == samples.length ? 0 : next + 1;
+        pushMax(value);
+    }
+
+    private void pushMax(int value) {
+        final int cap = maxSeq.length;
+        // Drop the candidate that just left the window, then all older ones that can no longer win.
+        if (maxCount > 0 && maxSeq[maxHead] <= seq - cap) {
+            maxHead = maxHead + 1 == cap ? 0 : maxHead + 1;
+            maxCount--;
+        }
+        while (maxCount > 0 && maxValue[(maxHead + maxCount - 1) % cap] <= value) {
+            maxCount--;
+        }
+        int tail = (maxHead + maxCount) % cap;
+        maxSeq[tail] = seq;
+        maxValue[tail] = value;
+        maxCount++;
+        seq++;
+    }
+
+    /** Max of the whole window (O(1)). */
+    int windowMax() {
+        return maxCount == 0 ? 0 : maxValue[maxHead];
+    }
+
+    int capacity() {
+        return samples.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sample by age: 0 = newest, size() - 1 = oldest.
+     */
+    int get(int age) {
+        int i = next - 1 - age;
+        return samples[i < 0 ? i + samples.length : i];
+    }
+
+    int latest() {
+        return size == 0 ? 0 : get(0);
+    }
+
+    /** Max of the newest {@code count} samples (e.g. the part shown in a sparkline). */
+    int max(int count) {
+        int n = Math.min(count, size);
+        int max = 0;
+        for (int age = 0; age < n; age++) {
+            max = Math.max(max, get(age));
+        }
+        return max;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile (0..1) of the window; 0 if empty.
+     */
+    int percentile(double quantile) {
+        if (size == 0) return 0;
+        int rank = Math.max(1, (int) Math.ceil(quantile * size));
+        int seen = 0;
+        for (int b = 0; b < bucketCounts.length; b++) {
+            seen += bucketCounts[b];
+            if (seen >= rank) {
+                return (int) Math.min(LatencyHistogram.upperBound(b), windowMax());
+            }
+        }
+        return windowMax();
+    }
+
+    void clear() {
+        Arrays.fill(bucketCounts, 0);
+        next = 0;
+        size = 0;
+        maxHead = 0;
+        maxCount = 0;
+        seq = 0L;
+    }
+}
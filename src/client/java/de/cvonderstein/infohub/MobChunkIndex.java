@@ -0,0 +1,209 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Incremental per-chunk index of the mobs in the client world.
+ *
+ * Fed by entity load/unload events and by chunk-boundary crossings (see the
+ * {@code ClientEntityManagerListenerMixin}), so counting never has to walk the world's entity lists.
+ * Every mob is stored with its {@link MobClassifier} type channel, classified once on load.
+ * Each id also remembers its slot in its bucket, so unload and chunk moves remove by swap-with-last
+ * in O(1), however crowded the chunk is (mob farms).
+ *
+ * Important (memory safety):
+ * - Only entity ids are stored, never entity references; callers resolve ids through the world.
+ * - The index belongs to one world; an event from another world resets it.
+ * - Client thread only.
+ */
+final class MobChunkIndex {
+    /** Mobs of one chunk column, split hostile / non-hostile; {@code *Types} run parallel to the id lists. */
+    static final class Bucket {
+        final IntArrayList hostile = new IntArrayList(4);
+        final IntArrayList nonHostile = new IntArrayList(4);
+        final IntArrayList hostileTypes = new IntArrayList(4);
+        final IntArrayList nonHostileTypes = new IntArrayList(4);
+
+        boolean isEmpty() {
+            return hostile.isEmpty() && nonHostile.isEmpty();
+        }
+    }
+
+    private final Int2LongOpenHashMap chunkOf = new Int2LongOpenHashMap();
+    private final Int2IntOpenHashMap slotOf = new Int2IntOpenHashMap(); // id -> index << 1 | hostile
+    private final Long2ObjectOpenHashMap<Bucket> buckets = new Long2ObjectOpenHashMap<>();
+    private final MobClassifier classifier;
+    private ClientWorld world = null;
+
+    /**
+     * @param classifier used by the entity events (primitive events work without one)
+     */
+    MobChunkIndex(MobClassifier classifier) {
+        this.classifier = classifier;
+        chunkOf.defaultReturnValue(Long.MIN_VALUE);
+        slotOf.defaultReturnValue(-1);
+    }
+
+    MobChunkIndex() {
+        this(null);
+    }
+
+    boolean isFor(ClientWorld world) {
+        return this.world == world;
+    }
+
+    Bucket get(int chunkX, int chunkZ) {
+        return buckets.get(ChunkPos.toLong(chunkX, chunkZ));
+    }
+
+    int size() {
+        return chunkOf.size();
+    }
+
+    void clear() {
+        chunkOf.clear();
+        slotOf.clear();
+        buckets.clear();
+        world = null;
+    }
+
+    // ----------------------------
+    // Events
+    // ----------------------------
+
+    void onLoad(Entity entity, ClientWorld world) {
+        if (!(entity instanceof MobEntity)) return;
+        if (this.world != world) {
+            clear();
+            this.world = world;
+        }
+        int type = classifier.typeChannel(entity);
+        onLoad(entity.getId(), type, classifier.isHostile(type), chunkX(entity), chunkZ(entity));
+    }
+
+    void onUnload(Entity entity, ClientWorld world) {
+        if (this.world != world || !(entity instanceof MobEntity)) return;
+        onUnload(entity.getId());
+    }
+
+    /**
+     * Called when an entity moved into another chunk section; only chunk-column changes matter here.
+     */
+    void onMoved(Entity entity) {
+        if (!(entity instanceof MobEntity) || entity.getWorld() != world) return;
+        onMoved(entity.getId(), chunkX(entity), chunkZ(entity));
+    }
+
+    // ----------------------------
+    // Primitive events (entity-free; also used by the headless replay)
+    // ----------------------------
+
+    void onLoad(int id, boolean hostile, int chunkX, int chunkZ) {
+        onLoad(id, MobClassifier.UNKNOWN_TYPE, hostile, chunkX, chunkZ);
+    }
+
+    void onLoad(int id, int type, boolean hostile, int chunkX, int chunkZ) {
+        long chunk = ChunkPos.toLong(chunkX, chunkZ);
+        long previous = chunkOf.put(id, chunk);
+        if (previous != Long.MIN_VALUE) {
+            remove(previous, id); // re-added without unload (should not happen, but stay consistent)
+        }
+        add(chunk, id, type, hostile);
+    }
+
+    void onUnload(int id) {
+        long previous = chunkOf.remove(id);
+        if (previous != Long.MIN_VALUE) {
+            remove(previous, id);
+        }
+    }
+
+    void onMoved(int id, int chunkX, int chunkZ) {
+        long previous = chunkOf.get(id);
+        if (previous == Long.MIN_VALUE) return; // not (yet) loaded
+
+        long chunk = ChunkPos.toLong(chunkX, chunkZ);
+        if (chunk == previous) return;
+
+        chunkOf.put(id, chunk);
+        long entry = remove(previous, id);
+        if (entry >= 0) {
+            add(chunk, id, (int) (entry >>> 1), (entry & 1L) != 0L);
+        }
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private static int chunkX(Entity entity) {
+        return ChunkSectionPos.getSectionCoord(entity.getBlockX());
+    }
+
+    private static int chunkZ(Entity entity) {
+        return ChunkSectionPos.getSectionCoord(entity.getBlockZ());
+    }
+
+    private void add(long chunk, int id, int type, boolean hostile) {
+        Bucket b = buckets.get(chunk);
+        if (b == null) {
+            b = new Bucket();
+            buckets.put(chunk, b);
+        }
+        if (hostile) {
+            slotOf.put(id, b.hostile.size() << 1 | 1);
+            b.hostile.add(id);
+            b.hostileTypes.add(type);
+        } else {
+            slotOf.put(id, b.nonHostile.size() << 1);
+            b.nonHostile.add(id);
+            b.nonHostileTypes.add(type);
+        }
+    }
+
+    /**
+     * Removes an id from a bucket; returns {@code type << 1 | hostile} of the removed entry, -1 if absent.
+     */
+    private long remove(long chunk, int id) {
+        int slot = slotOf.remove(id);
+        Bucket b = buckets.get(chunk);
+        if (b == null || slot < 0) return -1L;
+
+        boolean hostile = (slot & 1) != 0;
+        long entry = hostile
+                ? removeAt(b.hostile, b.hostileTypes, slot >>> 1, id, 1)
+                : removeAt(b.nonHostile, b.nonHostileTypes, slot >>> 1, id, 0);
+        if (entry >= 0) {
+            entry = entry << 1 | (hostile ? 1L : 0L);
+        }
+        if (b.isEmpty()) {
+            buckets.remove(chunk);
+        }
+        return entry;
+    }
+
+    /** Swap-removes slot {@code i} (order does not matter) and re-points the moved id; returns its type, -1 on mismatch. */
+    private long removeAt(IntArrayList ids, IntArrayList types, int i, int id, int hostileBit) {
+        if (i >= ids.size() || ids.getInt(i) != id) return -1L;
+
+        int type = types.getInt(i);
+        int last = ids.size() - 1;
+        if (i != last) {
+            int moved = ids.getInt(last);
+            ids.set(i, moved);
+            types.set(i, types.getInt(last));
+            slotOf.put(moved, i << 1 | hostileBit);
+        }
+        ids.removeInt(last);
+        types.removeInt(last);
+        return type;
+    }
+}
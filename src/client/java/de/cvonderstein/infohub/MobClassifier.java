@@ -0,0 +1,122 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnGroup;
+import net.minecraft.registry.Registries;
+
+import java.util.Arrays;
+
+/**
+ * Entity-type classification table, indexed by "type channel" (entity-type raw id + 1, 0 = unknown).
+ *
+ * Built once per join (raw ids can be remapped by registry sync), so counting looks up a byte
+ * instead of running {@code instanceof} checks per mob. The channel doubles as the per-type
+ * histogram channel of {@link NearbyCounter}.
+ *
+ * Important:
+ * - Categories come from the type's spawn group, plus a few named types (bosses, villagers).
+ *   "Hostile" = spawn group MONSTER or boss, which includes slimes, ghasts, phantoms and hoglins.
+ * - Client thread only (the table is replaced, never mutated in place, on rebuild).
+ */
+final class MobClassifier {
+    enum Category {
+        HOSTILE("H"),
+        PASSIVE("P"),
+        WATER("W"),
+        AMBIENT("A"),
+        BOSS("B"),
+        VILLAGER("V"),
+        OTHER("O");
+
+        private final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
+
+    static final int UNKNOWN_TYPE = 0;
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private byte[] categories = {(byte) Category.OTHER.ordinal()};
+    private String[] names = {"?"};
+
+    /**
+     * (Re)builds the table from the entity-type registry.
+     */
+    void rebuild() {
+        int n = Registries.ENTITY_TYPE.size() + 1;
+        byte[] c = new byte[n];
+        String[] nm = new String[n];
+        Arrays.fill(c, (byte) Category.OTHER.ordinal());
+        Arrays.fill(nm, "?");
+
+        for (EntityType<?> type : Registries.ENTITY_TYPE) {
+            int channel = Registries.ENTITY_TYPE.getRawId(type) + 1;
+            if (channel <= 0 || channel >= n) continue;
+            c[channel] = (byte) classify(type).ordinal();
+            nm[channel] = EntityType.getId(type).getPath();
+        }
+        categories = c;
+        names = nm;
+    }
+
+    int typeCount() {
+        return categories.length;
+    }
+
+    int typeChannel(Entity entity) {
+        int channel = Registries.ENTITY_TYPE.getRawId(entity.getType()) + 1;
+        return channel > 0 && channel < categories.length ? channel : UNKNOWN_TYPE;
+    }
+
+    Category category(int typeChannel) {
+        return CATEGORIES[categories[typeChannel]];
+    }
+
+    boolean isHostile(int typeChannel) {
+        return isHostile(category(typeChannel));
+    }
+
+    String typeName(int typeChannel) {
+        return names[typeChannel];
+    }
+
+    // ----------------------------
+    // Classification rules
+    // ----------------------------
+
+    static Category classify(EntityType<?> type) {
+        if (type == EntityType.WITHER || type == EntityType.ENDER_DRAGON
+                || type == EntityType.ELDER_GUARDIAN || type == EntityType.WARDEN) {
+            return Category.BOSS;
+        }
+        if (type == EntityType.VILLAGER || type == EntityType.WANDERING_TRADER) {
+            return Category.VILLAGER;
+        }
+
+        SpawnGroup group = type.getSpawnGroup();
+        return switch (group) {
+            case MONSTER -> Category.HOSTILE;
+            case CREATURE -> Category.PASSIVE;
+            case AMBIENT -> Category.AMBIENT;
+            case WATER_CREATURE, WATER_AMBIENT, UNDERGROUND_WATER_CREATURE, AXOLOTLS -> Category.WATER;
+            default -> Category.OTHER;
+        };
+    }
+
+    static boolean isHostile(Category category) {
+        return category == Category.HOSTILE || category == Category.BOSS;
+    }
+
+    /** Table-free variant for code without a built classifier (session recording). */
+    static boolean isHostile(EntityType<?> type) {
+        return isHostile(classify(type));
+    }
+}
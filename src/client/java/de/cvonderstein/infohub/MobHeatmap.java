@@ -0,0 +1,120 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Decaying per-chunk mob density around the player, for spotting spawn hotspots over time.
+ *
+ * Every mob-counter update adds the hostile / non-hostile size of each {@link MobChunkIndex} bucket
+ * in the window to its cell, weighted by the ticks since the previous sample, after all cells have
+ * decayed by that time (half-life {@link #HALF_LIFE_TICKS}). A value is therefore a time-weighted mob
+ * count that does not depend on how often the counters run: a chunk that always holds 4 mobs ends up
+ * at the same value as one that held 8 half of the time.
+ *
+ * Cells live in a fixed toroidal grid (chunk coordinate modulo {@link #SIZE}) that follows the
+ * player; each cell remembers which chunk it belongs to and is reset when a new chunk maps onto it.
+ *
+ * Important:
+ * - Memory is fixed at construction; sampling allocates nothing.
+ * - Client thread only.
+ */
+final class MobHeatmap {
+    /** Window radius in chunks around the player's chunk. */
+    static final int RADIUS = 12;
+    static final int SIZE = RADIUS * 2 + 1;
+
+    /** ~1 minute. */
+    private static final int HALF_LIFE_TICKS = 1200;
+
+    /** Longest gap a single sample stands for (first sample, pauses). */
+    private static final int MAX_SAMPLE_TICKS = 20;
+
+    private static final int NO_CHUNK = Integer.MIN_VALUE;
+
+    private final float[] hostile = new float[SIZE * SIZE];
+    private final float[] nonHostile = new float[SIZE * SIZE];
+    private final int[] cellX = new int[SIZE * SIZE];
+    private final int[] cellZ = new int[SIZE * SIZE];
+
+    private int lastSampleTick = 0;
+    private float max = 0.0f; // largest hostile + non-hostile value after the last sample
+
+    MobHeatmap() {
+        clear();
+    }
+
+    /**
+     * Decays all cells by the ticks since the previous sample and adds the current bucket sizes
+     * (times those ticks) around the given chunk.
+     */
+    void sample(MobChunkIndex index, int centerCX, int centerCZ, int tick) {
+        int elapsed = Math.clamp(tick - lastSampleTick, 1, MAX_SAMPLE_TICKS);
+        lastSampleTick = tick;
+        float decay = (float) Math.pow(0.5, (double) elapsed / HALF_LIFE_TICKS);
+        for (int i = 0; i < hostile.length; i++) {
+            hostile[i] *= decay;
+            nonHostile[i] *= decay;
+        }
+
+        for (int cx = centerCX - RADIUS; cx <= centerCX + RADIUS; cx++) {
+            for (int cz = centerCZ - RADIUS; cz <= centerCZ + RADIUS; cz++) {
+                int i = claim(cx, cz);
+                MobChunkIndex.Bucket bucket = index.get(cx, cz);
+                if (bucket == null) continue;
+                hostile[i] += bucket.hostile.size() * elapsed;
+                nonHostile[i] += bucket.nonHostile.size() * elapsed;
+            }
+        }
+
+        float m = 0.0f;
+        for (int i = 0; i < hostile.length; i++) {
+            m = Math.max(m, hostile[i] + nonHostile[i]);
+        }
+        max = m;
+    }
+
+    void clear() {
+        Arrays.fill(hostile, 0.0f);
+        Arrays.fill(nonHostile, 0.0f);
+        Arrays.fill(cellX, NO_CHUNK);
+        Arrays.fill(cellZ, NO_CHUNK);
+        max = 0.0f;
+    }
+
+    /** Hostile density of a chunk (0 if it is not in the grid). */
+    float hostile(int cx, int cz) {
+        int i = cell(cx, cz);
+        return cellX[i] == cx && cellZ[i] == cz ? hostile[i] : 0.0f;
+    }
+
+    /** Non-hostile density of a chunk (0 if it is not in the grid). */
+    float nonHostile(int cx, int cz) {
+        int i = cell(cx, cz);
+        return cellX[i] == cx && cellZ[i] == cz ? nonHostile[i] : 0.0f;
+    }
+
+    /** Largest cell total, for scaling the display. */
+    float max() {
+        return max;
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private static int cell(int cx, int cz) {
+        return Math.floorMod(cx, SIZE) * SIZE + Math.floorMod(cz, SIZE);
+    }
+
+    /** Cell of a chunk, reset if it held another chunk until now. */
+    private int claim(int cx, int cz) {
+        int i = cell(cx, cz);
+        if (cellX[i] != cx || cellZ[i] != cz) {
+            cellX[i] = cx;
+            cellZ[i] = cz;
+            hostile[i] = 0.0f;
+            nonHostile[i] = 0.0f;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,322 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Player and mob ring counting, independent of the game client.
+ *
+ * Works on an {@link EntityView} (live world or recorded session) and a {@link MobChunkIndex};
+ * results are read back per ring after each update. Optionally ({@link #enableTypes(int)}) mobs are also
+ * counted per {@link MobClassifier} type channel, for the per-type breakdown.
+ *
+ * Important:
+ * - No allocation per update (beyond growing the "entered" list to its high-water mark).
+ * - Not thread-safe.
+ */
+final class NearbyCounter {
+    /** Mob counter channels. */
+    static final int MOB_HOSTILE = 0;
+    static final int MOB_NON_HOSTILE = 1;
+
+    private final RingCounter playerRings;
+    private final RingCounter.Ring[] mobRingConfig;
+    private final RingCounter mobRings;
+    private RingCounter typeRings = null; // per type channel, null = disabled
+    private final double notifyRadiusSq;
+
+    // "player entered notify radius" tracking
+    private final UuidStampSet playersWithinNotifyRange = new UuidStampSet(64);
+    private final IntArrayList entered = new IntArrayList();
+    private boolean notifyInitialized = false;
+
+    // Stats of the last update (profiler / JFR)
+    private int lastVisited = 0;
+    private int lastCounted = 0;
+
+    NearbyCounter(RingCounter.Ring[] playerRings, RingCounter.Ring[] mobRings, int notifyRadiusBlocks) {
+        this.playerRings = new RingCounter(playerRings, 1);
+        this.mobRingConfig = mobRings.clone();
+        this.mobRings = new RingCounter(mobRings, 2);
+        this.notifyRadiusSq = (double) notifyRadiusBlocks * notifyRadiusBlocks;
+    }
+
+    RingCounter playerRings() {
+        return playerRings;
+    }
+
+    RingCounter mobRings() {
+        return mobRings;
+    }
+
+    /**
+     * Enables per-type mob counting with the given number of type channels (same rings as the mob
+     * counter); 0 disables it. Rebuilt only if the channel count changes.
+     */
+    void enableTypes(int typeCount) {
+        if (typeCount <= 0) {
+            typeRings = null;
+        } else if (typeRings == null || typeRings.channels() != typeCount) {
+            typeRings = new RingCounter(mobRingConfig, typeCount);
+        }
+    }
+
+    /** Forgets who was in notify range; the next update initializes silently. */
+    void resetNotify() {
+        playersWithinNotifyRange.clear();
+        entered.clear();
+        notifyInitialized = false;
+    }
+
+    void reset() {
+        playerRings.reset();
+        mobRings.reset();
+        if (typeRings != null) typeRings.reset();
+    }
+
+    // ----------------------------
+    // Players
+    // ----------------------------
+
+    /**
+     * Counts other players per ring and tracks who entered the notify radius
+     * (see {@link #entered()}; empty on the first update after {@link #resetNotify()}).
+     */
+    void updatePlayers(EntityView view) {
+        final double px = view.playerX();
+        final double pz = view.playerZ();
+        final int pcx = MathHelper.floor(px) >> 4;
+        final int pcz = MathHelper.floor(pz) >> 4;
+
+        playerRings.begin();
+        entered.clear();
+
+        // One pass: mark everyone within notify radius; unmarked entries are swept as "left".
+        playersWithinNotifyRange.beginPass();
+
+        final int n = view.otherPlayerCount();
+        for (int i = 0; i < n; i++) {
+            double ox = view.otherPlayerX(i);
+            double oz = view.otherPlayerZ(i);
+            double dx = ox - px;
+            double dz = oz - pz;
+            double distSq = dx * dx + dz * dz;
+            int chunkDist = Math.max(
+                    Math.abs((MathHelper.floor(ox) >> 4) - pcx),
+                    Math.abs((MathHelper.floor(oz) >> 4) - pcz));
+
+            // Note: We count inclusively (e.g., if in 3-chunk radius, also counts for 5 and 7) via prefix sums.
+            playerRings.add(distSq, chunkDist, 0);
+
+            if (distSq <= notifyRadiusSq
+                    && playersWithinNotifyRange.mark(view.otherPlayerUuidMsb(i), view.otherPlayerUuidLsb(i))
+                    && notifyInitialized) {
+                // First update after join/world change -> initialize without reporting.
+                entered.add(i);
+            }
+        }
+
+        playerRings.finish();
+        playersWithinNotifyRange.sweep();
+        notifyInitialized = true;
+
+        lastVisited = n;
+        lastCounted = maxInclusive(playerRings, 0, 0);
+    }
+
+    /** View indices of the players that entered the notify radius in the last update. */
+    IntArrayList entered() {
+        return entered;
+    }
+
+    /** Number of players that left the notify radius in the last update (UUIDs via {@code left*}). */
+    int leftCount() {
+        return playersWithinNotifyRange.leftCount();
+    }
+
+    long leftUuidMsb(int index) {
+        return playersWithinNotifyRange.leftMsb(index);
+    }
+
+    long leftUuidLsb(int index) {
+        return playersWithinNotifyRange.leftLsb(index);
+    }
+
+    int playersInRing(int ring) {
+        return playerRings.count(ring, 0);
+    }
+
+    // ----------------------------
+    // Mobs
+    // ----------------------------
+
+    void updateMobs(EntityView view, MobChunkIndex index) {
+        final double px = view.playerX();
+        final double pz = view.playerZ();
+        final int pcx = MathHelper.floor(px) >> 4;
+        final int pcz = MathHelper.floor(pz) >> 4;
+
+        // Visit only the chunk buckets the largest length / chunk-border ring can touch.
+        final int maxR = mobRings.maxLengthRadiusBlocks();
+        final int maxC = Math.max(0, mobRings.maxChunkRadius());
+        final int minCX = Math.min(pcx - maxC, (MathHelper.floor(px) - maxR) >> 4);
+        final int maxCX = Math.max(pcx + maxC, (MathHelper.floor(px) + maxR) >> 4);
+        final int minCZ = Math.min(pcz - maxC, (MathHelper.floor(pz) - maxR) >> 4);
+        final int maxCZ = Math.max(pcz + maxC, (MathHelper.floor(pz) + maxR) >> 4);
+
+        final int outsideLength = mobRings.outsideLengthBin();
+        final int outsideChunk = mobRings.outsideChunkBin();
+        final RingCounter types = typeRings;
+        int visited = 0;
+
+        mobRings.begin();
+        if (types != null) types.begin();
+        for (int chx = minCX; chx <= maxCX; chx++) {
+            for (int chz = minCZ; chz <= maxCZ; chz++) {
+                MobChunkIndex.Bucket bucket = index.get(chx, chz);
+                if (bucket == null) continue;
+                visited++;
+
+                final int hostile = bucket.hostile.size();
+                final int nonHostile = bucket.nonHostile.size();
+
+                // Chunk-border rings -> whole buckets.
+                int chunkBin = mobRings.chunkBin(Math.max(Math.abs(chx - pcx), Math.abs(chz - pcz)));
+                if (chunkBin != outsideChunk) {
+                    mobRings.addChunk(chunkBin, MOB_HOSTILE, hostile);
+                    mobRings.addChunk(chunkBin, MOB_NON_HOSTILE, nonHostile);
+                    if (types != null) {
+                        addTypesChunk(types, chunkBin, bucket.hostileTypes);
+                        addTypesChunk(types, chunkBin, bucket.nonHostileTypes);
+                    }
+                }
+
+                // Nearest / farthest horizontal distance from the player to this chunk column.
+                double x0 = chx * 16.0, z0 = chz * 16.0;
+                double nearX = MathHelper.clamp(px, x0, x0 + 16.0) - px;
+                double nearZ = MathHelper.clamp(pz, z0, z0 + 16.0) - pz;
+                double farX = Math.max(Math.abs(x0 - px), Math.abs(x0 + 16.0 - px));
+                double farZ = Math.max(Math.abs(z0 - pz), Math.abs(z0 + 16.0 - pz));
+
+                int nearBin = mobRings.lengthBin(nearX * nearX + nearZ * nearZ);
+                if (nearBin == outsideLength) continue;
+                int farBin = mobRings.lengthBin(farX * farX + farZ * farZ);
+
+                if (nearBin == farBin) {
+                    // The whole chunk falls into one ring band -> take the bucket as-is.
+                    mobRings.addLength(nearBin, MOB_HOSTILE, hostile);
+                    mobRings.addLength(nearBin, MOB_NON_HOSTILE, nonHostile);
+                    if (types != null) {
+                        addTypesLength(types, nearBin, bucket.hostileTypes);
+                        addTypesLength(types, nearBin, bucket.nonHostileTypes);
+                    }
+                } else {
+                    // A ring crosses this chunk -> bin each mob by its real position.
+                    binExact(view, bucket.hostile, bucket.hostileTypes, MOB_HOSTILE, px, pz);
+                    binExact(view, bucket.nonHostile, bucket.nonHostileTypes, MOB_NON_HOSTILE, px, pz);
+                }
+            }
+        }
+        mobRings.finish();
+        if (types != null) types.finish();
+
+        lastVisited = visited;
+        lastCounted = maxInclusive(mobRings, MOB_HOSTILE, MOB_NON_HOSTILE);
+    }
+
+    private void binExact(EntityView view, IntArrayList ids, IntArrayList typeChannels, int channel,
+                          double px, double pz) {
+        final RingCounter types = typeRings;
+        for (int i = 0; i < ids.size(); i++) {
+            if (!view.selectMob(ids.getInt(i))) continue;
+
+            double dx = view.selectedMobX() - px;
+            double dz = view.selectedMobZ() - pz;
+            int bin = mobRings.lengthBin(dx * dx + dz * dz);
+            mobRings.addLength(bin, channel, 1);
+            if (types != null) addType(types, bin, typeChannels.getInt(i), false);
+        }
+    }
+
+    private static void addTypesChunk(RingCounter types, int bin, IntArrayList typeChannels) {
+        for (int i = 0; i < typeChannels.size(); i++) {
+            addType(types, bin, typeChannels.getInt(i), true);
+        }
+    }
+
+    private static void addTypesLength(RingCounter types, int bin, IntArrayList typeChannels) {
+        for (int i = 0; i < typeChannels.size(); i++) {
+            addType(types, bin, typeChannels.getInt(i), false);
+        }
+    }
+
+    private static void addType(RingCounter types, int bin, int type, boolean chunk) {
+        // Channels from an older registry snapshot (should not happen) count as unknown.
+        if (type >= types.channels()) type = MobClassifier.UNKNOWN_TYPE;
+        if (chunk) types.addChunk(bin, type, 1);
+        else types.addLength(bin, type, 1);
+    }
+
+    int hostileInRing(int ring) {
+        return mobRings.count(ring, MOB_HOSTILE);
+    }
+
+    int nonHostileInRing(int ring) {
+        return mobRings.count(ring, MOB_NON_HOSTILE);
+    }
+
+    /** Mobs of one type channel in a ring (0 if per-type counting is disabled). */
+    int typeInRing(int ring, int type) {
+        return typeRings == null || type >= typeRings.channels() ? 0 : typeRings.count(ring, type);
+    }
+
+    /**
+     * Writes the {@code outTypes.length} most common type channels of a ring (most common first) and
+     * their counts; returns how many were written (types with a count of 0 are left out).
+     */
+    int topTypes(int ring, int[] outTypes, int[] outCounts) {
+        final RingCounter types = typeRings;
+        if (types == null || outTypes.length == 0) return 0;
+
+        int n = 0;
+        for (int t = 0; t < types.channels(); t++) {
+            int c = types.count(ring, t);
+            if (c == 0 || (n == outTypes.length && c <= outCounts[n - 1])) continue;
+
+            // Insertion into the small sorted top list.
+            int i = n < outTypes.length ? n++ : n - 1;
+            while (i > 0 && outCounts[i - 1] < c) {
+                outTypes[i] = outTypes[i - 1];
+                outCounts[i] = outCounts[i - 1];
+                i--;
+            }
+            outTypes[i] = t;
+            outCounts[i] = c;
+        }
+        return n;
+    }
+
+    // ----------------------------
+    // Stats of the last update
+    // ----------------------------
+
+    /** Players checked, or mob chunk buckets visited. */
+    int lastVisited() {
+        return lastVisited;
+    }
+
+    /** Things inside the largest ring. */
+    int lastCounted() {
+        return lastCounted;
+    }
+
+    private static int maxInclusive(RingCounter rings, int channelA, int channelB) {
+        int max = 0;
+        for (int r = 0; r < rings.ringCount(); r++) {
+            int c = rings.count(r, channelA);
+            if (channelB != channelA) c += rings.count(r, channelB);
+            max = Math.max(max, c);
+        }
+        return max;
+    }
+}
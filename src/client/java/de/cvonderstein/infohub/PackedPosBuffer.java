@@ -0,0 +1,44 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Reusable primitive buffer of packed block positions (see {@link PackedPosView}).
+ *
+ * Important:
+ * - Storage only grows; {@link #clear()} keeps the array, so a buffer that is refilled
+ *   every scan stops allocating once it reached its working size.
+ * - Not thread-safe; ownership is handed over between threads (see {@link SpawnScanWorker}).
+ */
+final class PackedPosBuffer implements PackedPosView {
+    static final PackedPosBuffer EMPTY = new PackedPosBuffer(0);
+
+    private long[] data;
+    private int size = 0;
+
+    PackedPosBuffer(int initialCapacity) {
+        this.data = new long[initialCapacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getLong(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return data[index];
+    }
+
+    void add(long packedPos) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, Math.max(16, data.length * 2));
+        }
+        data[size++] = packedPos;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
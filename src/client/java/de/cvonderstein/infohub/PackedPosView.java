@@ -0,0 +1,17 @@
+package de.cvonderstein.infohub;
+
+/**
+ * Read-only view of block positions packed with {@code BlockPos.asLong}.
+ *
+ * Used instead of {@code List<BlockPos>} so render code can iterate without allocating.
+ */
+public interface PackedPosView {
+    int size();
+
+    /** Packed position at {@code index}; unpack with {@code BlockPos.unpackLongX/Y/Z}. */
+    long getLong(int index);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,151 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import net.minecraft.client.gui.hud.ChatHud;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Coalesced, rate-limited "player nearby" chat notifications.
+ *
+ * Enter (and optionally leave) events of one counter update are collected and posted as a single
+ * line, e.g. {@code +12 players nearby (<= 64b): a, b, c…}. Posting takes a token from a small
+ * token bucket; without a token the events stay pending and merge into the next message, so a crowd
+ * arriving at spawn costs one line instead of one per player.
+ *
+ * Important:
+ * - Only the first {@link #NAMES_SHOWN} names of a message are resolved; everyone else is counted.
+ * - Resolved names are kept in a bounded LRU cache (UUID -> name), so churn at the radius edge does
+ *   not resolve the same players again; leaves are named from the cache (players we never saw
+ *   enter show as their UUID).
+ * - Client thread only.
+ */
+final class ProximityNotifier {
+    private static final int NAMES_SHOWN = 3;
+    private static final int NAME_CACHE_SIZE = 128;
+
+    /** Token bucket: burst of this many messages ... */
+    private static final int BUCKET_CAPACITY = 3;
+    /** ... then one message per this many ticks. */
+    private static final int REFILL_TICKS = 100;
+
+    private final int radiusBlocks;
+    private final boolean leaves;
+
+    // Pending events (since the last posted message)
+    private int enterCount = 0;
+    private final String[] enterNames = new String[NAMES_SHOWN];
+    private int leaveCount = 0;
+    private final String[] leaveNames = new String[NAMES_SHOWN];
+
+    private int tokens = BUCKET_CAPACITY;
+    private int lastRefillTick = 0;
+
+    private final Object2ObjectLinkedOpenHashMap<UUID, String> names = new Object2ObjectLinkedOpenHashMap<>();
+    private final StringBuilder message = new StringBuilder(128);
+
+    ProximityNotifier(int radiusBlocks, boolean leaves) {
+        this.radiusBlocks = radiusBlocks;
+        this.leaves = leaves;
+    }
+
+    boolean reportsLeaves() {
+        return leaves;
+    }
+
+    void onEnter(PlayerEntity player) {
+        if (enterCount < NAMES_SHOWN) {
+            enterNames[enterCount] = nameOf(player);
+        }
+        enterCount++;
+    }
+
+    void onLeave(long uuidMsb, long uuidLsb) {
+        if (!leaves) return;
+        if (leaveCount < NAMES_SHOWN) {
+            UUID uuid = new UUID(uuidMsb, uuidLsb);
+            String name = names.getAndMoveToLast(uuid);
+            leaveNames[leaveCount] = name != null ? name : uuid.toString();
+        }
+        leaveCount++;
+    }
+
+    /**
+     * Posts the pending events as one message if a token is available; otherwise keeps them pending.
+     */
+    void flush(int tick, ChatHud chat) {
+        refill(tick);
+        if (enterCount == 0 && leaveCount == 0) return;
+        if (tokens == 0) return;
+        tokens--;
+
+        StringBuilder sb = message;
+        sb.setLength(0);
+        sb.append("[InfoHub]");
+        if (enterCount > 0) {
+            sb.append(" +").append(enterCount).append(enterCount == 1 ? " player" : " players")
+                    .append(" nearby (<= ").append(radiusBlocks).append("b): ");
+            appendNames(sb, enterNames, enterCount);
+        }
+        if (leaveCount > 0) {
+            if (enterCount > 0) sb.append(" |");
+            sb.append(" -").append(leaveCount).append(" left: ");
+            appendNames(sb, leaveNames, leaveCount);
+        }
+        chat.addMessage(Text.literal(sb.toString()));
+
+        clearPending();
+    }
+
+    /** Drops pending events (world change); the name cache is kept. */
+    void clearPending() {
+        enterCount = 0;
+        leaveCount = 0;
+        Arrays.fill(enterNames, null);
+        Arrays.fill(leaveNames, null);
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private void refill(int tick) {
+        int elapsed = tick - lastRefillTick;
+        if (elapsed < REFILL_TICKS) {
+            if (elapsed < 0) lastRefillTick = tick; // tick counter reset
+            return;
+        }
+        int add = elapsed / REFILL_TICKS;
+        tokens = Math.min(BUCKET_CAPACITY, tokens + add);
+        lastRefillTick += add * REFILL_TICKS;
+    }
+
+    private static void appendNames(StringBuilder sb, String[] shown, int count) {
+        int n = Math.min(count, NAMES_SHOWN);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(shown[i]);
+        }
+        if (count > n) sb.append('…');
+    }
+
+    private String nameOf(PlayerEntity player) {
+        UUID uuid = player.getUuid();
+        String name = names.getAndMoveToLast(uuid);
+        if (name == null) {
+            name = player.getName().getString();
+            remember(uuid, name);
+        }
+        return name;
+    }
+
+    private void remember(UUID uuid, String name) {
+        if (names.size() >= NAME_CACHE_SIZE) {
+            names.removeFirst();
+        }
+        names.putAndMoveToLast(uuid, name);
+    }
+}
@@ -0,0 +1,130 @@
+package de.cvonderstein.infohub;
+
+/**
+ * Closed-loop quality governor: trades overlay detail for frame time against an FPS target.
+ *
+ * Frame times go into a short window of their own; once per second the window is compared with
+ * the target frame time. Falling behind (median frame slower than the target) for
+ * {@link #DOWN_AFTER} evaluations in a row steps one quality level down; clear headroom (p99 frame
+ * within {@link #HEADROOM_PERCENT}% of the target) for {@link #UP_AFTER} evaluations in a row steps
+ * one level up. Anything in between holds the level, and the window restarts after every step, so
+ * the next decision only sees frames rendered at the new level.
+ *
+ * Levels scale the configured spawn-scan radius, the marker cap and the counter / scan intervals;
+ * {@link #BASE_LEVEL} is exactly the configured (non-governed) behaviour.
+ *
+ * Important:
+ * - Off (always {@link #BASE_LEVEL}) when the target is 0.
+ * - Render / client thread only.
+ */
+final class QualityGovernor {
+    /** Per level, lowest quality first: radius / marker cap, counter interval, spawn-scan interval. */
+    private static final int[] SCALE_PERCENT = {50, 75, 100, 150, 200};
+    private static final int[] COUNTER_INTERVAL_PERCENT = {200, 150, 100, 100, 50};
+    private static final int[] SPAWN_SCAN_INTERVAL_PERCENT = {200, 150, 100, 50, 50};
+    static final int BASE_LEVEL = 2;
+    private static final int TOP_LEVEL = SCALE_PERCENT.length - 1;
+
+    private static final int MIN_RADIUS = 8;
+    private static final int MAX_RADIUS = 128;
+
+    private static final int EVALUATE_TICKS = 20;
+    private static final int WINDOW_FRAMES = 120;
+    /** Evaluations in a row below target before stepping down ... */
+    private static final int DOWN_AFTER = 2;
+    /** ... and with headroom before stepping up (slower, so the level does not oscillate). */
+    private static final int UP_AFTER = 5;
+    private static final int HEADROOM_PERCENT = 75;
+
+    private final int targetMicros; // 0 = off
+    private final MetricHistory frames = new MetricHistory(WINDOW_FRAMES);
+    private int level = BASE_LEVEL;
+    private int behindStreak = 0;
+    private int headroomStreak = 0;
+
+    QualityGovernor(int targetFps) {
+        this.targetMicros = targetFps <= 0 ? 0 : 1_000_000 / targetFps;
+    }
+
+    boolean isEnabled() {
+        return targetMicros != 0;
+    }
+
+    int level() {
+        return level;
+    }
+
+    void onFrame(int frameMicros) {
+        if (targetMicros != 0) frames.add(frameMicros);
+    }
+
+    /**
+     * Evaluates the window every {@link #EVALUATE_TICKS} ticks; returns true if the level changed.
+     */
+    boolean update(int tick) {
+        if (targetMicros == 0 || tick % EVALUATE_TICKS != 0) return false;
+        if (frames.size() < WINDOW_FRAMES / 2) return false; // too few frames since the last step / pause
+
+        if (frames.percentile(0.50) > targetMicros) {
+            headroomStreak = 0;
+            if (++behindStreak >= DOWN_AFTER && level > 0) {
+                return step(-1);
+            }
+        } else if (frames.percentile(0.99) * 100L <= (long) targetMicros * HEADROOM_PERCENT) {
+            behindStreak = 0;
+            if (++headroomStreak >= UP_AFTER && level < TOP_LEVEL) {
+                return step(1);
+            }
+        } else {
+            behindStreak = 0;
+            headroomStreak = 0;
+        }
+        return false;
+    }
+
+    /** Forgets the measured window (world change, loading screens); the level is kept. */
+    void reset() {
+        frames.clear();
+        behindStreak = 0;
+        headroomStreak = 0;
+    }
+
+    // ----------------------------
+    // Current values
+    // ----------------------------
+
+    int spawnScanRadius(int configured) {
+        return scaledRadius(configured, level);
+    }
+
+    /** Largest radius any level can pick (sizes the section walk order once). */
+    static int maxSpawnScanRadius(int configured) {
+        return scaledRadius(configured, TOP_LEVEL);
+    }
+
+    int spawnMarkerMax(int base) {
+        return (int) ((long) base * SCALE_PERCENT[level] / 100);
+    }
+
+    int counterIntervalTicks(int base) {
+        return Math.max(1, base * COUNTER_INTERVAL_PERCENT[level] / 100);
+    }
+
+    int spawnScanIntervalTicks(int base) {
+        return Math.max(1, base * SPAWN_SCAN_INTERVAL_PERCENT[level] / 100);
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private boolean step(int direction) {
+        level += direction;
+        reset();
+        return true;
+    }
+
+    private static int scaledRadius(int configured, int level) {
+        return Math.clamp((long) configured * SCALE_PERCENT[level] / 100, MIN_RADIUS, MAX_RADIUS);
+    }
+}
@@ -0,0 +1,217 @@
+package de.cvonderstein.infohub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts things in any number of concentric rings around the player.
+ *
+ * Each ring is either length based (horizontal distance <= radius * 16 blocks) or chunk-border
+ * based (chunk Chebyshev distance <= radius). Every counted thing is binned once per ring kind
+ * into the first ring of a sorted squared-radius table that contains it; inclusive counts
+ * (e.g. "within 3 also counts for 5 and 7") come from a prefix sum in {@link #finish()}.
+ * So the cost per thing is one binary search per kind, not one check per ring.
+ *
+ * Counts are kept per channel (e.g. hostile / non-hostile).
+ *
+ * Important:
+ * - No allocation after construction.
+ * - Not thread-safe.
+ */
+public final class RingCounter {
+    /** One configured ring. */
+    public static final class Ring {
+        public final int radiusChunks;
+        public final boolean chunkBorder;
+
+        public Ring(int radiusChunks, boolean chunkBorder) {
+            this.radiusChunks = radiusChunks;
+            this.chunkBorder = chunkBorder;
+        }
+    }
+
+    private final Ring[] rings;
+    private final int channels;
+
+    // Length-based table (sorted by radius)
+    private final double[] lengthRadiiSq;
+    private final int[] lengthRingIndex; // sorted position -> configured ring index
+    private final int[] lengthBins; // [channel * (n + 1) + bin]; bin n = outside
+
+    // Chunk-border table (sorted by radius)
+    private final int[] chunkRadii;
+    private final int[] chunkRingIndex;
+    private final int[] chunkBins;
+
+    private final int[] counts; // [ring * channels + channel], inclusive
+
+    public RingCounter(Ring[] rings, int channels) {
+        this.rings = rings.clone();
+        this.channels = channels;
+
+        Integer[] byRadius = new Integer[rings.length];
+        for (int i = 0; i < rings.length; i++) byRadius[i] = i;
+        Arrays.sort(byRadius, (a, b) -> Integer.compare(rings[a].radiusChunks, rings[b].radiusChunks));
+
+        int nLength = 0;
+        for (Ring r : rings) if (!r.chunkBorder) nLength++;
+        int nChunk = rings.length - nLength;
+
+        lengthRadiiSq = new double[nLength];
+        lengthRingIndex = new int[nLength];
+        chunkRadii = new int[nChunk];
+        chunkRingIndex = new int[nChunk];
+
+        int li = 0, ci = 0;
+        for (int idx : byRadius) {
+            Ring r = rings[idx];
+            if (r.chunkBorder) {
+                chunkRadii[ci] = r.radiusChunks;
+                chunkRingIndex[ci++] = idx;
+            } else {
+                double blocks = r.radiusChunks * 16.0;
+                lengthRadiiSq[li] = blocks * blocks;
+                lengthRingIndex[li++] = idx;
+            }
+        }
+
+        lengthBins = new int[channels * (nLength + 1)];
+        chunkBins = new int[channels * (nChunk + 1)];
+        counts = new int[rings.length * channels];
+    }
+
+    /**
+     * Parses "3,5,7" / "1,2c,3,4" (radius in chunks, "c" = chunk-border based).
+     */
+    public static Ring[] parse(String spec) {
+        List<Ring> out = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String t = part.trim().toLowerCase(Locale.ROOT);
+            if (t.isEmpty()) continue;
+
+            boolean chunk = t.endsWith("c");
+            if (chunk) t = t.substring(0, t.length() - 1);
+            int radius;
+            try {
+                radius = Integer.parseInt(t);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a ring: " + part.trim());
+            }
+            if (radius < 0 || radius > 32) {
+                throw new IllegalArgumentException("ring radius out of range 0..32: " + radius);
+            }
+            out.add(new Ring(radius, chunk));
+        }
+        if (out.isEmpty()) throw new IllegalArgumentException("no rings");
+        return out.toArray(new Ring[0]);
+    }
+
+    // ----------------------------
+    // Config access
+    // ----------------------------
+
+    public int ringCount() {
+        return rings.length;
+    }
+
+    public Ring ring(int index) {
+        return rings[index];
+    }
+
+    public int channels() {
+        return channels;
+    }
+
+    /** Largest length-based radius in blocks (0 if there is none). */
+    public int maxLengthRadiusBlocks() {
+        return lengthRadiiSq.length == 0 ? 0 : (int) Math.ceil(Math.sqrt(lengthRadiiSq[lengthRadiiSq.length - 1]));
+    }
+
+    /** Largest chunk-border radius in chunks (-1 if there is none). */
+    public int maxChunkRadius() {
+        return chunkRadii.length == 0 ? -1 : chunkRadii[chunkRadii.length - 1];
+    }
+
+    // ----------------------------
+    // Counting
+    // ----------------------------
+
+    public void begin() {
+        Arrays.fill(lengthBins, 0);
+        Arrays.fill(chunkBins, 0);
+    }
+
+    /** Sorted length ring that first contains {@code distSq}; {@link #outsideLengthBin()} if none. */
+    public int lengthBin(double distSq) {
+        int lo = 0, hi = lengthRadiiSq.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lengthRadiiSq[mid] < distSq) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Sorted chunk ring that first contains a chunk at Chebyshev distance {@code chunkDist}. */
+    public int chunkBin(int chunkDist) {
+        int lo = 0, hi = chunkRadii.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (chunkRadii[mid] < chunkDist) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    public int outsideLengthBin() {
+        return lengthRadiiSq.length;
+    }
+
+    public int outsideChunkBin() {
+        return chunkRadii.length;
+    }
+
+    public void addLength(int bin, int channel, int amount) {
+        lengthBins[channel * (lengthRadiiSq.length + 1) + bin] += amount;
+    }
+
+    public void addChunk(int bin, int channel, int amount) {
+        chunkBins[channel * (chunkRadii.length + 1) + bin] += amount;
+    }
+
+    /** Bins one thing in both tables. */
+    public void add(double distSq, int chunkDist, int channel) {
+        addLength(lengthBin(distSq), channel, 1);
+        addChunk(chunkBin(chunkDist), channel, 1);
+    }
+
+    /** Prefix-sums the bins into inclusive per-ring counts. */
+    public void finish() {
+        for (int c = 0; c < channels; c++) {
+            int sum = 0;
+            int base = c * (lengthRadiiSq.length + 1);
+            for (int j = 0; j < lengthRadiiSq.length; j++) {
+                sum += lengthBins[base + j];
+                counts[lengthRingIndex[j] * channels + c] = sum;
+            }
+
+            sum = 0;
+            base = c * (chunkRadii.length + 1);
+            for (int j = 0; j < chunkRadii.length; j++) {
+                sum += chunkBins[base + j];
+                counts[chunkRingIndex[j] * channels + c] = sum;
+            }
+        }
+    }
+
+    public int count(int ring, int channel) {
+        return counts[ring * channels + channel];
+    }
+
+    public void reset() {
+        begin();
+        Arrays.fill(counts, 0);
+    }
+}
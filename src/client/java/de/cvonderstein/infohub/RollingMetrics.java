@@ -0,0 +1,124 @@
+package de.cvonderstein.infohub;
+
+/**
+ * Rolling history of frame time, RTT and speed, for percentiles and HUD sparklines.
+ *
+ * Frame times are recorded once per rendered frame (µs), RTT (ms) and horizontal speed
+ * (hundredths of a block/s) once per client tick. {@link #publish()} turns the windows into the
+ * numbers shown on the HUD, once per tick; the HUD only formats them.
+ *
+ * "p99 FPS" is the FPS of the 99th-percentile frame time (the frame time only 1% of frames exceed),
+ * which is what players notice as stutter and what a one-second FPS average hides. It is not the
+ * "1% low" of benchmark tools (mean of the slowest 1%), which would need the samples sorted.
+ *
+ * Important:
+ * - No allocation on the hot path (ring buffers + incremental histograms, {@link HudLine} text).
+ * - Client / render thread only.
+ */
+final class RollingMetrics {
+    /** ~10 s at 100 FPS. */
+    static final int FRAME_SAMPLES = 1024;
+    /** 10 s of client ticks. */
+    static final int TICK_SAMPLES = 200;
+
+    /** Frames slower than this are not "frames" (pause, loading screen, alt-tab) and are not recorded. */
+    private static final long MAX_FRAME_NANOS = 1_000_000_000L;
+
+    final MetricHistory frameMicros = new MetricHistory(FRAME_SAMPLES);
+    final MetricHistory rttMs = new MetricHistory(TICK_SAMPLES);
+    final MetricHistory speedHundredths = new MetricHistory(TICK_SAMPLES);
+
+    private long lastFrameNanos = 0L;
+
+    // Published values (once per tick)
+    private int frameP50;
+    private int frameP95;
+    private int frameP99;
+    private int p99Fps;
+    private int rttP50;
+    private int rttP99;
+    private int speedMax;
+
+    private final HudLine frameLine = new HudLine(4);
+    private final HudLine tickLine = new HudLine(3);
+
+    // ----------------------------
+    // Recording
+    // ----------------------------
+
+    /**
+     * Records the time since the previous frame; returns it in µs, or -1 if it was not recorded.
+     */
+    int onFrame(long now) {
+        int recorded = -1;
+        if (lastFrameNanos != 0L) {
+            long dt = now - lastFrameNanos;
+            if (dt > 0 && dt < MAX_FRAME_NANOS) {
+                recorded = (int) (dt / 1_000L);
+                frameMicros.add(recorded);
+            }
+        }
+        lastFrameNanos = now;
+        return recorded;
+    }
+
+    void onTick(int rtt, int speed) {
+        rttMs.add(rtt);
+        speedHundredths.add(speed);
+    }
+
+    void publish() {
+        frameP50 = frameMicros.percentile(0.50);
+        frameP95 = frameMicros.percentile(0.95);
+        frameP99 = frameMicros.percentile(0.99);
+        p99Fps = frameP99 == 0 ? 0 : (int) (1_000_000L / frameP99);
+        rttP50 = rttMs.percentile(0.50);
+        rttP99 = rttMs.percentile(0.99);
+        speedMax = speedHundredths.windowMax();
+    }
+
+    void clear() {
+        frameMicros.clear();
+        rttMs.clear();
+        speedHundredths.clear();
+        lastFrameNanos = 0L;
+        publish();
+    }
+
+    int getFrameP50Micros() {
+        return frameP50;
+    }
+
+    int getFrameP99Micros() {
+        return frameP99;
+    }
+
+    // ----------------------------
+    // HUD text
+    // ----------------------------
+
+    String buildFrameLine() {
+        HudLine l = frameLine.begin().key(frameP50 / 10).key(frameP95 / 10).key(frameP99 / 10).key(p99Fps);
+        if (!l.isDirty()) return l.text();
+
+        // FT p50:%.2f p95:%.2f p99:%.2fms p99fps:%d
+        return l.clear()
+                .append("FT p50:").appendFixed2(frameP50 / 10)
+                .append(" p95:").appendFixed2(frameP95 / 10)
+                .append(" p99:").appendFixed2(frameP99 / 10).append("ms")
+                .append(" p99fps:").append(p99Fps)
+                .commit();
+    }
+
+    String buildTickLine() {
+        HudLine l = tickLine.begin().key(rttP50).key(rttP99).key(speedMax);
+        if (!l.isDirty()) return l.text();
+
+        // RTT p50:%d p99:%dms  Vmax:%.2f
+        return l.clear()
+                .append("RTT p50:").append(rttP50)
+                .append(" p99:").append(rttP99).append("ms")
+                .append("  Vmax:").appendFixed2(speedMax)
+                .commit();
+    }
+}
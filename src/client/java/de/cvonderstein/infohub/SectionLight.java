@@ -0,0 +1,66 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.LightType;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+
+/**
+ * Batched light reads for one chunk section of the live client world.
+ *
+ * {@link #load} fetches the section's block-light and sky-light nibble arrays once; afterwards every
+ * read is a plain array access instead of a lighting-provider + chunk lookup per position.
+ *
+ * Important:
+ * - A section without a nibble array (never lit, or sky light inherited from above) falls back to
+ *   the world query for that position, so values always match {@code world.getLightLevel}.
+ * - Holds world / nibble references only between {@link #load} and {@link #clear}. Client thread only.
+ */
+final class SectionLight {
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+
+    private ClientWorld world;
+    private int baseX, baseY, baseZ;
+    private ChunkNibbleArray block;
+    private ChunkNibbleArray sky;
+    private int ambientDarkness;
+
+    void load(ClientWorld world, int sx, int sy, int sz) {
+        this.world = world;
+        baseX = ChunkSectionPos.getBlockCoord(sx);
+        baseY = ChunkSectionPos.getBlockCoord(sy);
+        baseZ = ChunkSectionPos.getBlockCoord(sz);
+
+        ChunkSectionPos section = ChunkSectionPos.from(sx, sy, sz);
+        block = world.getLightingProvider().get(LightType.BLOCK).getLightSection(section);
+        sky = world.getDimension().hasSkyLight()
+                ? world.getLightingProvider().get(LightType.SKY).getLightSection(section)
+                : null;
+        ambientDarkness = world.getAmbientDarkness();
+    }
+
+    void clear() {
+        world = null;
+        block = null;
+        sky = null;
+    }
+
+    /** Block light at section-local coordinates. */
+    int block(int lx, int ly, int lz) {
+        if (block != null) return block.get(lx, ly, lz);
+        return world.getLightLevel(LightType.BLOCK, pos.set(baseX + lx, baseY + ly, baseZ + lz));
+    }
+
+    /** Sky light at section-local coordinates (not reduced by time of day). */
+    int sky(int lx, int ly, int lz) {
+        if (sky != null) return sky.get(lx, ly, lz);
+        if (!world.getDimension().hasSkyLight()) return 0;
+        return world.getLightLevel(LightType.SKY, pos.set(baseX + lx, baseY + ly, baseZ + lz));
+    }
+
+    /** Same as {@code world.getLightLevel(pos)}: max(sky - ambient darkness, block). */
+    int combined(int lx, int ly, int lz) {
+        return Math.max(sky(lx, ly, lz) - ambientDarkness, block(lx, ly, lz));
+    }
+}
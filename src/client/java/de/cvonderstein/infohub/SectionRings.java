@@ -0,0 +1,73 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Chunk-column offsets around a center column, ordered nearest-first.
+ *
+ * Offsets are sorted by Chebyshev ring (0 = the center column, 1 = the 8 around it, ...) and by
+ * squared distance within a ring, so walking them expands outward like a filled circle.
+ * Vertically, {@link #nearestY} alternates around the center section (0, +1, -1, +2, -2, ...).
+ *
+ * Important:
+ * - Immutable after construction; shared between the client thread and the scan worker.
+ */
+final class SectionRings {
+    private final int radius;
+    private final int[] dx;
+    private final int[] dz;
+
+    SectionRings(int radiusChunks) {
+        this.radius = radiusChunks;
+        int side = radiusChunks * 2 + 1;
+        int n = side * side;
+
+        long[] sortKeys = new long[n];
+        int i = 0;
+        for (int x = -radiusChunks; x <= radiusChunks; x++) {
+            for (int z = -radiusChunks; z <= radiusChunks; z++) {
+                long ring = Math.max(Math.abs(x), Math.abs(z));
+                long distSq = (long) x * x + (long) z * z;
+                // ring | distSq | packed offset: a plain long sort yields the walk order.
+                sortKeys[i++] = ring << 48 | distSq << 16 | (long) (x + radiusChunks) << 8 | (z + radiusChunks);
+            }
+        }
+        Arrays.sort(sortKeys);
+
+        dx = new int[n];
+        dz = new int[n];
+        for (int j = 0; j < n; j++) {
+            dx[j] = (int) (sortKeys[j] >>> 8 & 0xFF) - radiusChunks;
+            dz[j] = (int) (sortKeys[j] & 0xFF) - radiusChunks;
+        }
+    }
+
+    int radius() {
+        return radius;
+    }
+
+    int size() {
+        return dx.length;
+    }
+
+    int dx(int i) {
+        return dx[i];
+    }
+
+    int dz(int i) {
+        return dz[i];
+    }
+
+    /**
+     * The k-th section coordinate nearest to {@code center}: center, center+1, center-1, center+2, ...
+     * Callers iterate k from 0 to {@link #nearestYCount} and skip values outside their range.
+     */
+    static int nearestY(int center, int k) {
+        return (k & 1) == 0 ? center - (k >> 1) : center + ((k + 1) >> 1);
+    }
+
+    /** Number of k values needed for {@link #nearestY} to cover min..max around center. */
+    static int nearestYCount(int center, int min, int max) {
+        return 2 * Math.max(center - min, max - center) + 1;
+    }
+}
@@ -0,0 +1,314 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.LightType;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records a play session to a compact binary file for headless replay ({@link SessionReplay}).
+ *
+ * Per tick: player position, other players (UUID + position) and the mobs within counter reach.
+ * Per spawn scan: every captured chunk section (local palette of block-state raw ids + block light)
+ * and the keys the scan evaluated.
+ *
+ * Format (gzip): {@code int MAGIC, int VERSION}, then tagged frames (see {@code TAG_*}), {@code TAG_END}.
+ *
+ * Important:
+ * - Frames are encoded on the client thread into a reusable buffer; compression and disk I/O run
+ *   on the "InfoHub-Recorder" thread, so the client never blocks on the file.
+ * - Block states are stored as raw ids, so a recording only replays on the same game version.
+ * - I/O errors are logged once and stop the recording.
+ */
+final class SessionRecorder {
+    static final int MAGIC = 0x49485331; // "IHS1"
+    static final int VERSION = 1;
+
+    static final byte TAG_END = 0;
+    /** {@code int bottomY, int height} – new world / dimension, replay state is reset. */
+    static final byte TAG_WORLD = 1;
+    /** {@code int tick, double x, y, z, int players, (long msb, long lsb, float x, float z)*, int mobs, (int id, byte hostile, float x, float z)*} */
+    static final byte TAG_TICK = 2;
+    /** {@code int sx, sy, sz, short paletteSize, int rawId*, (byte|short) index[4096], byte hasLight, byte[2048]} */
+    static final byte TAG_SECTION = 3;
+    /** {@code int count, long sectionKey*} – sections evaluated by one spawn scan. */
+    static final byte TAG_SCAN = 4;
+
+    /** Mobs this far beyond the largest counter ring are still recorded (blocks). */
+    private static final int MOB_REACH_MARGIN_BLOCKS = 32;
+    /** Encoded frames are handed to the writer thread in chunks of about this size. */
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "InfoHub-Recorder");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private final Path file;
+    private final OutputStream out; // writer thread only
+    private volatile boolean failed = false;
+
+    // Client-thread encoding buffer
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_BYTES * 2);
+    private final DataOutputStream data = new DataOutputStream(buffer);
+
+    private final int mobReachBlocks;
+    private final LongOpenHashSet sectionsThisScan = new LongOpenHashSet();
+    private final Int2IntOpenHashMap palette = new Int2IntOpenHashMap();
+    private final int[] paletteIds = new int[4096];
+    private final int[] indices = new int[4096];
+
+    private SessionRecorder(Path file, OutputStream out, int mobReachBlocks) {
+        this.file = file;
+        this.out = out;
+        this.mobReachBlocks = mobReachBlocks;
+    }
+
+    /**
+     * Opens a new recording; returns null (and logs) if the file cannot be created.
+     */
+    static @Nullable SessionRecorder start(Path file, int maxRingRadiusBlocks) {
+        try {
+            Files.createDirectories(file.getParent());
+            OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16), 1 << 16);
+            SessionRecorder recorder = new SessionRecorder(file, out, maxRingRadiusBlocks + MOB_REACH_MARGIN_BLOCKS);
+            recorder.data.writeInt(MAGIC);
+            recorder.data.writeInt(VERSION);
+            InfoHubClient.LOGGER.info("Recording session to {}", file);
+            return recorder;
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not start session recording {}", file, e);
+            return null;
+        }
+    }
+
+    // ----------------------------
+    // Frames (client thread)
+    // ----------------------------
+
+    void world(ClientWorld world) {
+        try {
+            data.writeByte(TAG_WORLD);
+            data.writeInt(world.getBottomY());
+            data.writeInt(world.getHeight());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream
+        }
+        sectionsThisScan.clear();
+        maybeFlush();
+    }
+
+    void tick(int tick, ClientWorld world, PlayerEntity player) {
+        final double px = player.getX();
+        final double pz = player.getZ();
+        try {
+            data.writeByte(TAG_TICK);
+            data.writeInt(tick);
+            data.writeDouble(px);
+            data.writeDouble(player.getY());
+            data.writeDouble(pz);
+
+            List<AbstractClientPlayerEntity> players = world.getPlayers();
+            int others = 0;
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i) != player) others++;
+            }
+            data.writeInt(others);
+            for (int i = 0; i < players.size(); i++) {
+                PlayerEntity other = players.get(i);
+                if (other == player) continue;
+                data.writeLong(other.getUuid().getMostSignificantBits());
+                data.writeLong(other.getUuid().getLeastSignificantBits());
+                data.writeFloat((float) other.getX());
+                data.writeFloat((float) other.getZ());
+            }
+
+            // Two passes over the entities: count first (the iterable has no cheap size), then write.
+            int mobs = 0;
+            for (Entity e : world.getEntities()) {
+                if (isRecordedMob(e, px, pz)) mobs++;
+            }
+            data.writeInt(mobs);
+            for (Entity e : world.getEntities()) {
+                if (!isRecordedMob(e, px, pz) || mobs-- == 0) continue;
+
+                data.writeInt(e.getId());
+                data.writeByte(MobClassifier.isHostile(e.getType()) ? 1 : 0);
+                data.writeFloat((float) e.getX());
+                data.writeFloat((float) e.getZ());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        maybeFlush();
+    }
+
+    /**
+     * Records one live chunk section (once per scan; unloaded or empty sections are recorded as air).
+     */
+    void section(ClientWorld world, int sx, int sy, int sz) {
+        long key = ChunkSectionPos.asLong(sx, sy, sz);
+        if (!sectionsThisScan.add(key)) return;
+
+        int index = world.sectionCoordToIndex(sy);
+        if (index < 0 || index >= world.countVerticalSections()) return;
+        if (!world.isChunkLoaded(sx, sz)) return;
+
+        WorldChunk chunk = world.getChunk(sx, sz);
+        ChunkSection section = chunk.getSection(index);
+
+        try {
+            data.writeByte(TAG_SECTION);
+            data.writeInt(sx);
+            data.writeInt(sy);
+            data.writeInt(sz);
+
+            if (section == null || section.isEmpty()) {
+                data.writeShort(0); // all air, no indices
+            } else {
+                palette.clear();
+                for (int i = 0; i < 4096; i++) {
+                    BlockState state = section.getBlockState(i & 15, i >>> 8, (i >>> 4) & 15);
+                    int rawId = Block.getRawIdFromState(state);
+                    int p = palette.getOrDefault(rawId, -1);
+                    if (p < 0) {
+                        p = palette.size();
+                        palette.put(rawId, p);
+                        paletteIds[p] = rawId;
+                    }
+                    indices[i] = p;
+                }
+
+                int size = palette.size();
+                data.writeShort(size);
+                for (int p = 0; p < size; p++) {
+                    data.writeInt(paletteIds[p]);
+                }
+                for (int i = 0; i < 4096; i++) {
+                    if (size <= 256) data.writeByte(indices[i]);
+                    else data.writeShort(indices[i]);
+                }
+            }
+
+            ChunkNibbleArray light = world.getLightingProvider().get(LightType.BLOCK)
+                    .getLightSection(ChunkSectionPos.from(sx, sy, sz));
+            if (light == null) {
+                data.writeByte(0);
+            } else {
+                data.writeByte(1);
+                data.write(light.asByteArray());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        maybeFlush();
+    }
+
+    void scan(LongArrayList computeKeys) {
+        try {
+            data.writeByte(TAG_SCAN);
+            data.writeInt(computeKeys.size());
+            for (int i = 0; i < computeKeys.size(); i++) {
+                data.writeLong(computeKeys.getLong(i));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        sectionsThisScan.clear();
+        maybeFlush();
+    }
+
+    /**
+     * Writes the end tag, flushes everything and closes the file (waits briefly for the writer).
+     */
+    void close() {
+        try {
+            data.writeByte(TAG_END);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        flush();
+        writer.execute(() -> {
+            try {
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                InfoHubClient.LOGGER.warn("Session recording {} did not finish writing in time", file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!failed) {
+            InfoHubClient.LOGGER.info("Session recording saved to {}", file);
+        }
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private boolean isRecordedMob(Entity e, double px, double pz) {
+        return e instanceof MobEntity
+                && Math.abs(e.getX() - px) <= mobReachBlocks
+                && Math.abs(e.getZ() - pz) <= mobReachBlocks;
+    }
+
+    private void maybeFlush() {
+        if (buffer.size() >= FLUSH_BYTES) flush();
+    }
+
+    private void flush() {
+        if (buffer.size() == 0) return;
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        if (failed) return;
+
+        writer.execute(() -> {
+            if (failed) return;
+            try {
+                out.write(chunk);
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    private void fail(IOException e) {
+        if (!failed) {
+            failed = true;
+            InfoHubClient.LOGGER.warn("Session recording {} failed, stopping", file, e);
+        }
+    }
+}
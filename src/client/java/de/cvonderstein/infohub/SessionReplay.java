@@ -0,0 +1,266 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.PalettedContainer;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Headless replay of a {@link SessionRecorder} file through the counter and spawn-scan pipeline,
+ * as fast as possible, with per-stage timings at the end.
+ *
+ * Usage: {@code SessionReplay <file> [--counter-interval N] [--loops N] [--player-rings 3,5,7] [--mob-rings 1,2c,3,4]}
+ * (or {@code ./gradlew replaySession -Psession=<file>}).
+ *
+ * Stages:
+ * - index: mob load / unload / chunk moves derived from consecutive tick frames ({@link MobChunkIndex})
+ * - players / mobs: {@link NearbyCounter} updates, every counter interval (default 10 ticks like the client)
+ * - decode: recorded sections into the {@link SpawnSnapshot}
+ * - scan: {@link SpawnScanWorker#computeSection} for every section a recorded scan evaluated
+ */
+public final class SessionReplay {
+    private static final String[] STAGES = {"index", "players", "mobs", "decode", "scan"};
+    private static final int INDEX = 0, PLAYERS = 1, MOBS = 2, DECODE = 3, SCAN = 4;
+
+    private final int counterInterval;
+    private final NearbyCounter counter;
+    private final MobChunkIndex index = new MobChunkIndex();
+    private final ArrayEntityView view = new ArrayEntityView();
+    private final LatencyHistogram[] timings = new LatencyHistogram[STAGES.length];
+
+    // Previous tick's mobs (for load / unload / move events)
+    private final Int2LongOpenHashMap previousChunk = new Int2LongOpenHashMap();
+    private final IntArrayList gone = new IntArrayList();
+
+    private SpawnSnapshot snapshot = new SpawnSnapshot(-64, 384);
+    private final LongArrayList scanKeys = new LongArrayList();
+
+    private long ticks = 0;
+    private int maxPlayers = 0;
+    private int maxMobs = 0;
+    private long sections = 0;
+    private long spawnable = 0;
+
+    private SessionReplay(int counterInterval, RingCounter.Ring[] playerRings, RingCounter.Ring[] mobRings) {
+        this.counterInterval = counterInterval;
+        this.counter = new NearbyCounter(playerRings, mobRings, 64);
+        previousChunk.defaultReturnValue(Long.MIN_VALUE);
+        for (int i = 0; i < timings.length; i++) {
+            timings[i] = new LatencyHistogram();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: SessionReplay <file> [--counter-interval N] [--loops N] [--player-rings 3,5,7] [--mob-rings 1,2c,3,4]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int counterInterval = 10;
+        int loops = 1;
+        String playerRings = "3,5,7";
+        String mobRings = "1,2c,3,4";
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--counter-interval" -> counterInterval = Math.max(1, Integer.parseInt(args[i + 1]));
+                case "--loops" -> loops = Math.max(1, Integer.parseInt(args[i + 1]));
+                case "--player-rings" -> playerRings = args[i + 1];
+                case "--mob-rings" -> mobRings = args[i + 1];
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        for (int loop = 1; loop <= loops; loop++) {
+            SessionReplay replay = new SessionReplay(counterInterval, RingCounter.parse(playerRings), RingCounter.parse(mobRings));
+            long start = System.nanoTime();
+            replay.run(file);
+            replay.report(loop, System.nanoTime() - start);
+        }
+    }
+
+    // ----------------------------
+    // Decoding
+    // ----------------------------
+
+    private void run(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16), 1 << 16))) {
+            if (in.readInt() != SessionRecorder.MAGIC) throw new IOException("not an InfoHub session: " + file);
+            int version = in.readInt();
+            if (version != SessionRecorder.VERSION) throw new IOException("unsupported session version " + version);
+
+            while (true) {
+                byte tag;
+                try {
+                    tag = in.readByte();
+                } catch (EOFException e) {
+                    return; // recording was cut off (client crash); replay what we have
+                }
+                switch (tag) {
+                    case SessionRecorder.TAG_END -> {
+                        return;
+                    }
+                    case SessionRecorder.TAG_WORLD -> world(in.readInt(), in.readInt());
+                    case SessionRecorder.TAG_TICK -> tick(in);
+                    case SessionRecorder.TAG_SECTION -> section(in);
+                    case SessionRecorder.TAG_SCAN -> scan(in);
+                    default -> throw new IOException("corrupt session (tag " + tag + ")");
+                }
+            }
+        }
+    }
+
+    private void world(int bottomY, int height) {
+        snapshot = new SpawnSnapshot(bottomY, height);
+        index.clear();
+        counter.resetNotify();
+        previousChunk.clear();
+    }
+
+    private void tick(DataInputStream in) throws IOException {
+        int tick = in.readInt();
+        double px = in.readDouble();
+        in.readDouble(); // y (not needed by the counters)
+        double pz = in.readDouble();
+        view.beginFrame(px, pz);
+
+        int players = in.readInt();
+        for (int i = 0; i < players; i++) {
+            view.addPlayer(in.readLong(), in.readLong(), in.readFloat(), in.readFloat());
+        }
+        int mobs = in.readInt();
+        for (int i = 0; i < mobs; i++) {
+            view.addMob(in.readInt(), in.readByte() != 0, in.readFloat(), in.readFloat());
+        }
+        ticks++;
+        maxPlayers = Math.max(maxPlayers, players);
+        maxMobs = Math.max(maxMobs, mobs);
+
+        long t0 = System.nanoTime();
+        updateIndex();
+        timings[INDEX].record(System.nanoTime() - t0);
+
+        if (tick % counterInterval == 0) {
+            t0 = System.nanoTime();
+            counter.updatePlayers(view);
+            timings[PLAYERS].record(System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            counter.updateMobs(view, index);
+            timings[MOBS].record(System.nanoTime() - t0);
+        }
+    }
+
+    /** Turns the difference to the previous frame into index events. */
+    private void updateIndex() {
+        gone.clear();
+        for (var it = previousChunk.int2LongEntrySet().fastIterator(); it.hasNext(); ) {
+            int id = it.next().getIntKey();
+            if (view.slotOf(id) < 0) gone.add(id);
+        }
+        for (int i = 0; i < gone.size(); i++) {
+            int id = gone.getInt(i);
+            index.onUnload(id);
+            previousChunk.remove(id);
+        }
+
+        for (int slot = 0; slot < view.mobCount(); slot++) {
+            int id = view.mobId(slot);
+            boolean hostile = view.mobHostile(slot);
+            int cx = MathHelper.floor(view.mobX(slot)) >> 4;
+            int cz = MathHelper.floor(view.mobZ(slot)) >> 4;
+            long chunk = ChunkPos.toLong(cx, cz);
+
+            long previous = previousChunk.put(id, chunk);
+            if (previous == Long.MIN_VALUE) {
+                index.onLoad(id, hostile, cx, cz);
+            } else if (previous != chunk) {
+                index.onMoved(id, cx, cz);
+            }
+        }
+    }
+
+    private void section(DataInputStream in) throws IOException {
+        int sx = in.readInt();
+        int sy = in.readInt();
+        int sz = in.readInt();
+        int paletteSize = in.readUnsignedShort();
+
+        long t0 = System.nanoTime();
+        BlockState air = Blocks.AIR.getDefaultState();
+        PalettedContainer<BlockState> states = new PalettedContainer<>(
+                Block.STATE_IDS, air, PalettedContainer.PaletteProvider.BLOCK_STATE);
+        if (paletteSize > 0) {
+            BlockState[] palette = new BlockState[paletteSize];
+            for (int p = 0; p < paletteSize; p++) {
+                BlockState state = Block.STATE_IDS.get(in.readInt());
+                palette[p] = state != null ? state : air;
+            }
+            for (int i = 0; i < 4096; i++) {
+                int p = paletteSize <= 256 ? in.readUnsignedByte() : in.readUnsignedShort();
+                states.set(i & 15, i >>> 8, (i >>> 4) & 15, palette[p]);
+            }
+        }
+
+        ChunkNibbleArray light = null;
+        if (in.readByte() != 0) {
+            byte[] bytes = new byte[2048];
+            in.readFully(bytes);
+            light = new ChunkNibbleArray(bytes);
+        }
+        snapshot.put(sx, sy, sz, states, light);
+        timings[DECODE].record(System.nanoTime() - t0);
+        sections++;
+    }
+
+    private void scan(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        scanKeys.clear();
+        for (int i = 0; i < count; i++) {
+            scanKeys.add(in.readLong());
+        }
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < scanKeys.size(); i++) {
+            long key = scanKeys.getLong(i);
+            long[] bits = SpawnScanWorker.computeSection(snapshot,
+                    ChunkSectionPos.unpackX(key), ChunkSectionPos.unpackY(key), ChunkSectionPos.unpackZ(key));
+            for (long word : bits) spawnable += Long.bitCount(word);
+        }
+        timings[SCAN].record(System.nanoTime() - t0);
+    }
+
+    // ----------------------------
+    // Report
+    // ----------------------------
+
+    private void report(int loop, long wallNanos) {
+        System.out.printf("loop %d: %d ticks in %.1f ms (%.0f ticks/s), max %d players / %d mobs, %d sections, %d spawnable%n",
+                loop, ticks, wallNanos / 1e6, ticks / (wallNanos / 1e9), maxPlayers, maxMobs, sections, spawnable);
+        for (int i = 0; i < STAGES.length; i++) {
+            LatencyHistogram h = timings[i];
+            System.out.printf("  %-8s n=%-8d p50=%8.1fus p99=%8.1fus max=%8.1fus%n",
+                    STAGES[i], h.count(), h.percentile(0.50) / 1e3, h.percentile(0.99) / 1e3, h.max() / 1e3);
+        }
+    }
+}
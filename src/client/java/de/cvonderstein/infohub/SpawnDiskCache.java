@@ -0,0 +1,458 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ServerInfo;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent spawn-section bitsets per server and dimension, in memory-mapped region files.
+ *
+ * Layout: {@code infohub/spawncache/<server>/<dimension>/r.<x>.<z>.ihsc}, one file per 32x32 chunk
+ * columns (like vanilla regions). A file holds a fixed index (content hash + slot per section) followed
+ * by 512-byte bitset slots that are appended as needed; all-zero results take no slot.
+ *
+ * Entries are keyed by the content they were computed from ({@link #contentHash}: ground layer below,
+ * the section itself, head layer above, block light). Loaded entries are shown right away and
+ * re-checked by the scan worker, which only recomputes a section if its hash no longer matches.
+ *
+ * Important:
+ * - Client thread only (hashing is static and runs on the worker), except for file system work:
+ *   regions are opened / created / mapped and closed on an I/O thread ({@code InfoHub-SpawnCacheIO}).
+ *   A lookup in a region that is not open yet answers {@link #PENDING} and asks again later; a store
+ *   waits in memory until its region is open.
+ * - Regions are mapped lazily on first access; at most {@link #MAX_OPEN_REGIONS} stay open.
+ * - I/O errors are logged and the affected region is treated as empty; a broken file never stops a scan.
+ * - Raw block-state ids make the files specific to one game version / mod set; a changed world height
+ *   resets the file.
+ */
+final class SpawnDiskCache {
+    private static final int MAGIC = 0x49485343; // "IHSC"
+    private static final int VERSION = 2; // 2: spawn ground honours block spawn restrictions
+
+    private static final int REGION_SHIFT = 5; // 32x32 chunk columns
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final int COLUMNS = 1 << (REGION_SHIFT * 2);
+
+    private static final int HEADER_BYTES = 32;
+    private static final int INDEX_ENTRY_BYTES = 12; // long hash + int slot
+    private static final int SLOT_BYTES = SpawnSectionCache.SECTION_WORDS * 8;
+    private static final int GROW_SLOTS = 64;
+
+    private static final int SLOT_NONE = 0;
+    private static final int SLOT_EMPTY = -1;
+
+    private static final int MAX_OPEN_REGIONS = 16;
+
+    /** {@link #load} result while the section's region is still being opened (compared by identity). */
+    static final long[] PENDING = new long[0];
+
+    private final Path dir;
+    private final int bottomSection;
+    private final int sectionsPerColumn;
+
+    // LRU of open regions (access order)
+    private final Long2ObjectLinkedOpenHashMap<Region> regions = new Long2ObjectLinkedOpenHashMap<>();
+    // Regions known to have no file yet (lookups there never touch the file system again)
+    private final LongOpenHashSet missingRegions = new LongOpenHashSet();
+    // Regions being opened on the I/O thread, and the finished opens it hands back
+    private final LongOpenHashSet openingRegions = new LongOpenHashSet();
+    private final ConcurrentLinkedQueue<Opened> opened = new ConcurrentLinkedQueue<>();
+    // Stores waiting for their region (section key -> bits / hash)
+    private final Long2ObjectOpenHashMap<long[]> pendingBits = new Long2ObjectOpenHashMap<>();
+    private final Long2LongOpenHashMap pendingHashes = new Long2LongOpenHashMap();
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "InfoHub-SpawnCacheIO");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SpawnDiskCache(Path dir, int bottomSection, int sectionsPerColumn) {
+        this.dir = dir;
+        this.bottomSection = bottomSection;
+        this.sectionsPerColumn = sectionsPerColumn;
+    }
+
+    static @Nullable SpawnDiskCache open(MinecraftClient client, ClientWorld world) {
+        Identifier dimension = world.getRegistryKey().getValue();
+        Path dir = FabricLoader.getInstance().getGameDir()
+                .resolve("infohub").resolve("spawncache")
+                .resolve(sanitize(serverKey(client)))
+                .resolve(sanitize(dimension.getNamespace() + "_" + dimension.getPath()));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not create spawn cache directory {}", dir, e);
+            return null;
+        }
+        return new SpawnDiskCache(dir, world.getBottomSectionCoord(), world.countVerticalSections());
+    }
+
+    private static String serverKey(MinecraftClient client) {
+        ServerInfo server = client.getCurrentServerEntry();
+        if (server != null) return server.address;
+        if (client.getServer() != null) return "local_" + client.getServer().getSaveProperties().getLevelName();
+        return "unknown";
+    }
+
+    private static String sanitize(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+    }
+
+    // ----------------------------
+    // Lookup / store (client thread)
+    // ----------------------------
+
+    /**
+     * Content hash the stored bitset of a section was computed from, 0 if there is none.
+     */
+    long storedHash(long sectionKey) {
+        Region r = regions.getAndMoveToLast(regionKey(sectionKey));
+        if (r == null) return 0L;
+        int entry = r.indexOffset(sectionKey);
+        return entry < 0 ? 0L : r.map.getLong(entry);
+    }
+
+    /**
+     * Stored bitset of a section (a fresh array, or {@link SpawnSectionCache#EMPTY}), null if there is
+     * none, or {@link #PENDING} while its region is being opened.
+     */
+    long[] load(long sectionKey) {
+        drainOpened();
+        long key = regionKey(sectionKey);
+        Region r = regions.getAndMoveToLast(key);
+        if (r == null) {
+            if (missingRegions.contains(key)) return null;
+            requestOpen(key, false);
+            return PENDING;
+        }
+        int entry = r.indexOffset(sectionKey);
+        if (entry < 0) return null;
+
+        int slot = r.map.getInt(entry + 8);
+        if (slot == SLOT_NONE) return null;
+        if (slot == SLOT_EMPTY) return SpawnSectionCache.EMPTY;
+        if (slot > r.slotCount) return null; // torn write
+
+        long[] bits = new long[SpawnSectionCache.SECTION_WORDS];
+        int base = r.slotOffset(slot);
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] = r.map.getLong(base + w * 8);
+        }
+        return bits;
+    }
+
+    /**
+     * Stores a freshly computed (or re-verified) bitset; a no-op if the same hash is already stored.
+     */
+    void store(long sectionKey, long hash, long[] bits) {
+        if (hash == 0L) return;
+        drainOpened();
+        long key = regionKey(sectionKey);
+        Region r = regions.getAndMoveToLast(key);
+        if (r == null) {
+            pendingBits.put(sectionKey, bits);
+            pendingHashes.put(sectionKey, hash);
+            requestOpen(key, true);
+            return;
+        }
+        write(r, sectionKey, hash, bits);
+    }
+
+    void close() {
+        List<Region> open = new ArrayList<>(regions.values());
+        regions.clear();
+        missingRegions.clear();
+        openingRegions.clear();
+        pendingBits.clear(); // recomputed when the area is scanned again
+        pendingHashes.clear();
+        // Runs after every open already queued, so their regions are closed too.
+        io.execute(() -> {
+            for (Region r : open) {
+                r.close();
+            }
+            Opened o;
+            while ((o = opened.poll()) != null) {
+                if (o.region != null) o.region.close();
+            }
+        });
+        io.shutdown();
+    }
+
+    private void write(Region r, long sectionKey, long hash, long[] bits) {
+        int entry = r.indexOffset(sectionKey);
+        if (entry < 0) return;
+        if (r.map.getLong(entry) == hash && r.map.getInt(entry + 8) != SLOT_NONE) return;
+
+        try {
+            int slot = r.map.getInt(entry + 8);
+            // Hash off first, then data, then the index entry, so a torn write never validates.
+            r.map.putLong(entry, 0L);
+            if (isEmpty(bits)) {
+                slot = SLOT_EMPTY; // an old data slot (if any) is simply abandoned
+            } else {
+                if (slot <= SLOT_NONE) slot = r.allocateSlot();
+                int base = r.slotOffset(slot);
+                for (int w = 0; w < bits.length; w++) {
+                    r.map.putLong(base + w * 8, bits[w]);
+                }
+            }
+            r.map.putInt(entry + 8, slot);
+            r.map.putLong(entry, hash);
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not grow spawn cache region {}", r.file, e);
+        }
+    }
+
+    private static long regionKey(long sectionKey) {
+        return ChunkPos.toLong(ChunkSectionPos.unpackX(sectionKey) >> REGION_SHIFT,
+                ChunkSectionPos.unpackZ(sectionKey) >> REGION_SHIFT);
+    }
+
+    // ----------------------------
+    // Region opening (I/O thread)
+    // ----------------------------
+
+    /** A finished open; {@code region} is null if there is no file (lookup) or it could not be opened. */
+    private static final class Opened {
+        final long key;
+        final boolean create;
+        final @Nullable Region region;
+
+        Opened(long key, boolean create, @Nullable Region region) {
+            this.key = key;
+            this.create = create;
+            this.region = region;
+        }
+    }
+
+    private void requestOpen(long key, boolean create) {
+        if (!openingRegions.add(key)) return; // a lookup open that finds no file is retried with create
+        Path file = dir.resolve("r." + ChunkPos.getPackedX(key) + "." + ChunkPos.getPackedZ(key) + ".ihsc");
+        io.execute(() -> opened.add(new Opened(key, create, openRegion(file, create))));
+    }
+
+    private @Nullable Region openRegion(Path file, boolean create) {
+        if (!create && !Files.isRegularFile(file)) return null;
+        try {
+            return new Region(file, bottomSection, sectionsPerColumn);
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not open spawn cache region {}", file, e);
+            return null;
+        }
+    }
+
+    /** Takes over the regions the I/O thread opened and writes the stores that waited for them. */
+    private void drainOpened() {
+        Opened o;
+        while ((o = opened.poll()) != null) {
+            openingRegions.remove(o.key);
+            if (o.region == null) {
+                if (!o.create) {
+                    missingRegions.add(o.key);
+                    if (hasPendingStores(o.key)) requestOpen(o.key, true);
+                } else {
+                    flushPendingStores(o.key, null); // could not create: drop them
+                }
+                continue;
+            }
+
+            missingRegions.remove(o.key);
+            if (regions.size() >= MAX_OPEN_REGIONS) {
+                Region evicted = regions.removeFirst();
+                io.execute(evicted::close);
+            }
+            regions.putAndMoveToLast(o.key, o.region);
+            flushPendingStores(o.key, o.region);
+        }
+    }
+
+    private boolean hasPendingStores(long key) {
+        LongIterator it = pendingBits.keySet().iterator();
+        while (it.hasNext()) {
+            if (regionKey(it.nextLong()) == key) return true;
+        }
+        return false;
+    }
+
+    private void flushPendingStores(long key, @Nullable Region r) {
+        LongIterator it = pendingBits.keySet().iterator();
+        while (it.hasNext()) {
+            long sectionKey = it.nextLong();
+            if (regionKey(sectionKey) != key) continue;
+            if (r != null) write(r, sectionKey, pendingHashes.get(sectionKey), pendingBits.get(sectionKey));
+            pendingHashes.remove(sectionKey);
+            it.remove();
+        }
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) return false;
+        }
+        return true;
+    }
+
+    // ----------------------------
+    // Content hash (worker thread)
+    // ----------------------------
+
+    /**
+     * 64-bit hash of everything a section's spawn bitset depends on (never 0).
+     */
+    static long contentHash(SpawnSnapshot snapshot, int sx, int sy, int sz) {
+        long h = 0x9E3779B97F4A7C15L;
+
+        PalettedContainer<BlockState> below = snapshot.getSection(sx, sy - 1, sz);
+        PalettedContainer<BlockState> here = snapshot.getSection(sx, sy, sz);
+        PalettedContainer<BlockState> above = snapshot.getSection(sx, sy + 1, sz);
+
+        h = hashLayer(h, below, 15);
+        for (int ly = 0; ly < 16; ly++) {
+            h = hashLayer(h, here, ly);
+        }
+        h = hashLayer(h, above, 0);
+
+        ChunkNibbleArray light = snapshot.getBlockLightSection(sx, sy, sz);
+        if (light != null) {
+            byte[] nibbles = light.asByteArray();
+            for (int i = 0; i + 8 <= nibbles.length; i += 8) {
+                long word = 0L;
+                for (int b = 0; b < 8; b++) {
+                    word |= (nibbles[i + b] & 0xFFL) << (b * 8);
+                }
+                h = mix(h, word);
+            }
+        } else {
+            h = mix(h, -1L);
+        }
+
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h == 0L ? 1L : h;
+    }
+
+    private static long hashLayer(long h, @Nullable PalettedContainer<BlockState> section, int ly) {
+        if (section == null) return mix(h, 0L); // reads as air
+        for (int lz = 0; lz < 16; lz++) {
+            for (int lx = 0; lx < 16; lx++) {
+                h = mix(h, Block.getRawIdFromState(section.get(lx, ly, lz)));
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        return Long.rotateLeft(h ^ (value * 0xC2B2AE3D27D4EB4FL), 31) * 0x9E3779B97F4A7C15L;
+    }
+
+    // ----------------------------
+    // Region file
+    // ----------------------------
+
+    private static final class Region {
+        final Path file;
+        final FileChannel channel;
+        final int bottomSection;
+        final int sectionsPerColumn;
+        final int dataStart;
+
+        MappedByteBuffer map;
+        int slotCount;
+        int slotCapacity;
+
+        Region(Path file, int bottomSection, int sectionsPerColumn) throws IOException {
+            this.file = file;
+            this.bottomSection = bottomSection;
+            this.sectionsPerColumn = sectionsPerColumn;
+            this.dataStart = HEADER_BYTES + COLUMNS * sectionsPerColumn * INDEX_ENTRY_BYTES;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            long size = channel.size();
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, dataStart));
+            if (size < dataStart
+                    || map.getInt(0) != MAGIC
+                    || map.getInt(4) != VERSION
+                    || map.getInt(8) != bottomSection
+                    || map.getInt(12) != sectionsPerColumn) {
+                reset();
+            } else {
+                slotCount = map.getInt(16);
+                slotCapacity = (int) ((size - dataStart) / SLOT_BYTES);
+                if (slotCount < 0 || slotCount > slotCapacity) reset();
+            }
+        }
+
+        private void reset() throws IOException {
+            channel.truncate(0);
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataStart); // zero-filled
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, bottomSection);
+            map.putInt(12, sectionsPerColumn);
+            map.putInt(16, 0);
+            slotCount = 0;
+            slotCapacity = 0;
+        }
+
+        /** Byte offset of a section's index entry, -1 if the section is outside the stored height. */
+        int indexOffset(long sectionKey) {
+            int ly = ChunkSectionPos.unpackY(sectionKey) - bottomSection;
+            if (ly < 0 || ly >= sectionsPerColumn) return -1;
+            int column = (ChunkSectionPos.unpackZ(sectionKey) & REGION_MASK) << REGION_SHIFT
+                    | (ChunkSectionPos.unpackX(sectionKey) & REGION_MASK);
+            return HEADER_BYTES + (column * sectionsPerColumn + ly) * INDEX_ENTRY_BYTES;
+        }
+
+        /** Slots are 1-based (0 = none). */
+        int slotOffset(int slot) {
+            return dataStart + (slot - 1) * SLOT_BYTES;
+        }
+
+        int allocateSlot() throws IOException {
+            if (slotCount == slotCapacity) {
+                slotCapacity += GROW_SLOTS;
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) dataStart + (long) slotCapacity * SLOT_BYTES);
+            }
+            slotCount++;
+            map.putInt(16, slotCount);
+            return slotCount;
+        }
+
+        void close() {
+            try {
+                channel.close(); // the mapping itself stays valid until it is collected
+            } catch (IOException e) {
+                InfoHubClient.LOGGER.warn("Could not close spawn cache region {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed marker geometry (CPU-side), grouped by chunk section.
+ *
+ * The mesh is rebuilt only when the published marker set (or the {@link SpawnMarkerStyle}) changes;
+ * per frame the renderer copies the vertices of the visible sections into the render layer's buffer,
+ * which costs time linear in the visible geometry (nothing is kept on the GPU between frames).
+ *
+ * Layout (coordinates relative to the owning section's origin, keeps float precision far away from 0/0):
+ * - edge = 9 floats (x0, y0, z0, x1, y1, z1, nx, ny, nz)
+ * - quad = 5 floats (x0, y, z0, x1, z1), horizontal
+ *
+ * Merged styles run a greedy rectangle merge per Y-layer inside each section: every row of a layer
+ * is a 16-bit mask, runs are taken from the lowest set bit and grown in +z while the next rows
+ * contain the whole run. Rectangles never cross section borders, so culling stays per section.
+ *
+ * Important:
+ * - Storage only grows; rebuilding reuses the arrays.
+ * - Render thread only.
+ */
+final class SpawnMarkerMesh {
+    static final int FLOATS_PER_EDGE = 9;
+    static final int FLOATS_PER_QUAD = 5;
+
+    /** Filled quads float slightly above the ground block to avoid z-fighting. */
+    private static final float QUAD_LIFT = 0.02f;
+
+    /** Outline inflation to avoid z-fighting with block edges. */
+    private static final float INFLATE = 0.002f;
+
+    private float[] edges = new float[12 * FLOATS_PER_EDGE * 64];
+    private int edgeFloats = 0;
+
+    private float[] quads = new float[FLOATS_PER_QUAD * 64];
+    private int quadFloats = 0;
+
+    // Per-section ranges into edges[] / quads[]
+    private int sectionCount = 0;
+    private int[] sectionStart = new int[16];
+    private int[] sectionEnd = new int[16];
+    private int[] sectionQuadStart = new int[16];
+    private int[] sectionQuadEnd = new int[16];
+    private int[] sectionOrigin = new int[16 * 3];
+    private Box[] sectionBounds = new Box[16];
+
+    // Greedy-merge scratch: one 16-bit row mask per (y, z) of the current section.
+    private final int[] layerRows = new int[16 * 16];
+    private int usedLayers = 0;
+
+    private int builtVersion = -1;
+    private SpawnMarkerStyle builtStyle = null;
+
+    boolean isUpToDate(int version, SpawnMarkerStyle style) {
+        return builtVersion == version && builtStyle == style;
+    }
+
+    int sectionCount() {
+        return sectionCount;
+    }
+
+    int sectionStart(int section) {
+        return sectionStart[section];
+    }
+
+    int sectionEnd(int section) {
+        return sectionEnd[section];
+    }
+
+    int sectionOriginX(int section) {
+        return sectionOrigin[section * 3];
+    }
+
+    int sectionOriginY(int section) {
+        return sectionOrigin[section * 3 + 1];
+    }
+
+    int sectionOriginZ(int section) {
+        return sectionOrigin[section * 3 + 2];
+    }
+
+    Box sectionBounds(int section) {
+        return sectionBounds[section];
+    }
+
+    int sectionQuadStart(int section) {
+        return sectionQuadStart[section];
+    }
+
+    int sectionQuadEnd(int section) {
+        return sectionQuadEnd[section];
+    }
+
+    float[] edges() {
+        return edges;
+    }
+
+    float[] quads() {
+        return quads;
+    }
+
+    // ----------------------------
+    // Baking
+    // ----------------------------
+
+    void rebuild(PackedPosView markers, int version, SpawnMarkerStyle style) {
+        builtVersion = version;
+        builtStyle = style;
+        edgeFloats = 0;
+        quadFloats = 0;
+        sectionCount = 0;
+
+        boolean merged = style.isMerged();
+        long currentSection = Long.MIN_VALUE;
+        for (int i = 0; i < markers.size(); i++) {
+            long p = markers.getLong(i);
+            int x = BlockPos.unpackLongX(p);
+            int y = BlockPos.unpackLongY(p);
+            int z = BlockPos.unpackLongZ(p);
+
+            long section = ChunkSectionPos.asLong(
+                    ChunkSectionPos.getSectionCoord(x),
+                    ChunkSectionPos.getSectionCoord(y),
+                    ChunkSectionPos.getSectionCoord(z));
+            if (section != currentSection) {
+                // Markers arrive grouped by section (see SpawnScanWorker); a section seen twice just gets two ranges.
+                closeSection(style);
+                openSection(section);
+                currentSection = section;
+            }
+
+            if (merged) {
+                layerRows[((y & 15) << 4) | (z & 15)] |= 1 << (x & 15);
+                usedLayers |= 1 << (y & 15);
+            } else {
+                addBox(x & 15, y & 15, z & 15, (x & 15) + 1, (y & 15) + 1, (z & 15) + 1);
+            }
+        }
+        closeSection(style);
+    }
+
+    private void openSection(long section) {
+        if (sectionCount == sectionStart.length) {
+            int n = sectionCount * 2;
+            sectionStart = Arrays.copyOf(sectionStart, n);
+            sectionEnd = Arrays.copyOf(sectionEnd, n);
+            sectionQuadStart = Arrays.copyOf(sectionQuadStart, n);
+            sectionQuadEnd = Arrays.copyOf(sectionQuadEnd, n);
+            sectionOrigin = Arrays.copyOf(sectionOrigin, n * 3);
+            sectionBounds = Arrays.copyOf(sectionBounds, n);
+        }
+
+        int ox = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackX(section));
+        int oy = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackY(section));
+        int oz = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackZ(section));
+
+        sectionStart[sectionCount] = edgeFloats;
+        sectionQuadStart[sectionCount] = quadFloats;
+        sectionOrigin[sectionCount * 3] = ox;
+        sectionOrigin[sectionCount * 3 + 1] = oy;
+        sectionOrigin[sectionCount * 3 + 2] = oz;
+
+        Box bounds = sectionBounds[sectionCount];
+        if (bounds == null || bounds.minX != ox || bounds.minY != oy || bounds.minZ != oz) {
+            sectionBounds[sectionCount] = new Box(ox, oy, oz, ox + 16, oy + 16, oz + 16);
+        }
+        sectionCount++;
+    }
+
+    private void closeSection(SpawnMarkerStyle style) {
+        if (sectionCount == 0) return;
+
+        if (style.isMerged()) {
+            mergeLayers(style == SpawnMarkerStyle.MERGED_FILLED);
+        }
+        sectionEnd[sectionCount - 1] = edgeFloats;
+        sectionQuadEnd[sectionCount - 1] = quadFloats;
+    }
+
+    private void mergeLayers(boolean filled) {
+        int layers = usedLayers;
+        while (layers != 0) {
+            int ly = Integer.numberOfTrailingZeros(layers);
+            layers &= layers - 1;
+
+            int base = ly << 4;
+            for (int lz = 0; lz < 16; lz++) {
+                int row = layerRows[base + lz];
+                while (row != 0) {
+                    int x0 = Integer.numberOfTrailingZeros(row);
+                    int len = Integer.numberOfTrailingZeros(~(row >>> x0));
+                    int mask = ((1 << len) - 1) << x0;
+                    row &= ~mask;
+
+                    // Grow in +z while the following rows contain the whole run.
+                    int depth = 1;
+                    while (lz + depth < 16 && (layerRows[base + lz + depth] & mask) == mask) {
+                        layerRows[base + lz + depth] &= ~mask;
+                        depth++;
+                    }
+
+                    if (filled) {
+                        addQuad(x0, ly + QUAD_LIFT, lz, x0 + len, lz + depth);
+                    } else {
+                        addBox(x0, ly, lz, x0 + len, ly + 1, lz + depth);
+                    }
+                }
+                layerRows[base + lz] = 0;
+            }
+        }
+        usedLayers = 0;
+    }
+
+    private void addBox(int bx0, int by0, int bz0, int bx1, int by1, int bz1) {
+        float x0 = bx0 - INFLATE, y0 = by0 - INFLATE, z0 = bz0 - INFLATE;
+        float x1 = bx1 + INFLATE, y1 = by1 + INFLATE, z1 = bz1 + INFLATE;
+
+        // Same 12 edges as VertexRendering.drawBox.
+        addEdge(x0, y0, z0, x1, y0, z0, 1, 0, 0);
+        addEdge(x0, y0, z0, x0, y1, z0, 0, 1, 0);
+        addEdge(x0, y0, z0, x0, y0, z1, 0, 0, 1);
+        addEdge(x1, y0, z0, x1, y1, z0, 0, 1, 0);
+        addEdge(x1, y1, z0, x0, y1, z0, -1, 0, 0);
+        addEdge(x0, y1, z0, x0, y1, z1, 0, 0, 1);
+        addEdge(x0, y1, z1, x0, y0, z1, 0, -1, 0);
+        addEdge(x0, y0, z1, x1, y0, z1, 1, 0, 0);
+        addEdge(x1, y0, z1, x1, y0, z0, 0, 0, -1);
+        addEdge(x0, y1, z1, x1, y1, z1, 1, 0, 0);
+        addEdge(x1, y0, z1, x1, y1, z1, 0, 1, 0);
+        addEdge(x1, y1, z0, x1, y1, z1, 0, 0, 1);
+    }
+
+    private void addQuad(float x0, float y, float z0, float x1, float z1) {
+        if (quadFloats + FLOATS_PER_QUAD > quads.length) {
+            quads = Arrays.copyOf(quads, quads.length * 2);
+        }
+        float[] q = quads;
+        int i = quadFloats;
+        q[i] = x0;
+        q[i + 1] = y;
+        q[i + 2] = z0;
+        q[i + 3] = x1;
+        q[i + 4] = z1;
+        quadFloats = i + FLOATS_PER_QUAD;
+    }
+
+    private void addEdge(float x0, float y0, float z0, float x1, float y1, float z1, float nx, float ny, float nz) {
+        if (edgeFloats + FLOATS_PER_EDGE > edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        float[] e = edges;
+        int i = edgeFloats;
+        e[i] = x0;
+        e[i + 1] = y0;
+        e[i + 2] = z0;
+        e[i + 3] = x1;
+        e[i + 4] = y1;
+        e[i + 5] = z1;
+        e[i + 6] = nx;
+        e[i + 7] = ny;
+        e[i + 8] = nz;
+        edgeFloats = i + FLOATS_PER_EDGE;
+    }
+}
@@ -1,55 +1,177 @@
 package de.cvonderstein.infohub;
 
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.render.Frustum;
+import net.minecraft.client.render.LightmapTextureManager;
 import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
-import net.minecraft.client.render.VertexRendering;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.RotationAxis;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.List;
-
 /**
  * Renders spawnable-block markers in-world (toggleable).
  *
  * We render a simple outline box around the "spawn air block" (where a mob's feet would be),
  * because it is robust across mappings / render pipeline changes.
+ *
+ * The geometry is prepared in a {@link SpawnMarkerMesh} (CPU-side float arrays) once per published
+ * marker set / style. Every frame whole chunk sections are culled against the frustum and the vertices
+ * of the visible ones are written again into the shared lines / quads layers: that skips the per-marker
+ * box building and allocation, but the frame cost still grows with the number of visible edges / quads.
+ * Merged styles (one outline or translucent floor quad per merged rectangle) are the way to cut it.
+ *
+ * The light-level overlay (block-light numbers, see {@link LightLevelOverlay}) is drawn here too.
  */
 public final class SpawnMarkerRenderer {
     private SpawnMarkerRenderer() {}
 
+    private static final SpawnMarkerMesh MESH = new SpawnMarkerMesh();
+
+    private static final float LIGHT_LABEL_SCALE = 1.0f / 32.0f;
+    private static final String[] LIGHT_LABELS = new String[16];
+
+    static {
+        for (int i = 0; i < LIGHT_LABELS.length; i++) {
+            LIGHT_LABELS[i] = Integer.toString(i);
+        }
+    }
+
     public static void onWorldRender(WorldRenderContext context) {
+        final long start = System.nanoTime();
+        render(context);
+        InfoHubProfiler.INSTANCE.record(InfoHubProfiler.Subsystem.RENDER, System.nanoTime() - start);
+    }
+
+    private static void render(WorldRenderContext context) {
         InfoHubState s = InfoHubState.INSTANCE;
+        if (s.isLightOverlayEnabled()) {
+            renderLightLevels(context, s.getLightOverlay());
+        }
         if (!s.isSpawnMarkersEnabled()) return;
 
-        List<BlockPos> markers = s.getSpawnMarkerPositions();
+        PackedPosView markers = s.getSpawnMarkerPositions();
         if (markers.isEmpty()) return;
 
         MatrixStack matrices = context.matrixStack();
         VertexConsumerProvider consumers = context.consumers();
         if (matrices == null || consumers == null) return;
 
+        int version = s.getSpawnMarkerVersion();
+        SpawnMarkerStyle style = s.getSpawnMarkerStyle();
+        if (!MESH.isUpToDate(version, style)) {
+            MESH.rebuild(markers, version, style);
+        }
+
         Vec3d camPos = context.camera().getPos();
+        Frustum frustum = context.frustum();
+        MatrixStack.Entry entry = matrices.peek();
 
-        matrices.push();
-        // Convert world coordinates into camera-relative coordinates.
-        matrices.translate(-camPos.x, -camPos.y, -camPos.z);
+        if (style == SpawnMarkerStyle.MERGED_FILLED) {
+            renderQuads(consumers.getBuffer(RenderLayer.getDebugQuads()), entry, camPos, frustum);
+        } else {
+            renderEdges(consumers.getBuffer(RenderLayer.getLines()), entry, camPos, frustum);
+        }
+    }
 
-        VertexConsumer lines = consumers.getBuffer(RenderLayer.getLines());
+    /**
+     * Block-light numbers lying flat on the floor of each standable block (red = 0, i.e. spawnable at night).
+     */
+    private static void renderLightLevels(WorldRenderContext context, LightLevelOverlay overlay) {
+        if (overlay.size() == 0) return;
 
-        for (BlockPos p : markers) {
-            // Slightly inflate to avoid z-fighting with block edges.
-            Box b = new Box(
-                    p.getX(), p.getY(), p.getZ(),
-                    p.getX() + 1.0, p.getY() + 1.0, p.getZ() + 1.0
-            ).expand(0.002);
+        MatrixStack matrices = context.matrixStack();
+        VertexConsumerProvider consumers = context.consumers();
+        TextRenderer tr = MinecraftClient.getInstance().textRenderer;
+        if (matrices == null || consumers == null || tr == null) return;
 
-            VertexRendering.drawBox(matrices, lines, b, 1.0f, 0.0f, 0.0f, 0.85f);
+        Vec3d camPos = context.camera().getPos();
+        Frustum frustum = context.frustum();
+
+        // Labels come grouped by chunk section: cull once per section.
+        long section = Long.MIN_VALUE;
+        boolean visible = true;
+
+        for (int i = 0; i < overlay.size(); i++) {
+            long pos = overlay.position(i);
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+
+            long sec = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            if (sec != section) {
+                section = sec;
+                int bx = x & ~15, by = y & ~15, bz = z & ~15;
+                visible = frustum == null || frustum.isVisible(new Box(bx, by, bz, bx + 16, by + 16, bz + 16));
+            }
+            if (!visible) continue;
+
+            int level = overlay.blockLight(i);
+            String label = LIGHT_LABELS[level & 15];
+
+            matrices.push();
+            matrices.translate(x + 0.5 - camPos.x, y + 0.01 - camPos.y, z + 0.5 - camPos.z);
+            matrices.multiply(RotationAxis.POSITIVE_X.rotationDegrees(90.0f));
+            matrices.scale(LIGHT_LABEL_SCALE, LIGHT_LABEL_SCALE, LIGHT_LABEL_SCALE);
+            tr.draw(label, -tr.getWidth(label) / 2.0f, -tr.fontHeight / 2.0f,
+                    level == 0 ? 0xFFFF4040 : 0xFF60FF60, false,
+                    matrices.peek().getPositionMatrix(), consumers, TextRenderer.TextLayerType.NORMAL,
+                    0, LightmapTextureManager.MAX_LIGHT_COORDINATE);
+            matrices.pop();
         }
+    }
+
+    private static void renderEdges(VertexConsumer lines, MatrixStack.Entry entry, Vec3d camPos, Frustum frustum) {
+        float[] e = MESH.edges();
+
+        for (int sec = 0; sec < MESH.sectionCount(); sec++) {
+            if (frustum != null && !frustum.isVisible(MESH.sectionBounds(sec))) continue;
+
+            // Camera-relative section origin (baked coordinates are section-local).
+            float ox = (float) (MESH.sectionOriginX(sec) - camPos.x);
+            float oy = (float) (MESH.sectionOriginY(sec) - camPos.y);
+            float oz = (float) (MESH.sectionOriginZ(sec) - camPos.z);
 
-        matrices.pop();
+            int end = MESH.sectionEnd(sec);
+            for (int i = MESH.sectionStart(sec); i < end; i += SpawnMarkerMesh.FLOATS_PER_EDGE) {
+                float nx = e[i + 6], ny = e[i + 7], nz = e[i + 8];
+                lines.vertex(entry, ox + e[i], oy + e[i + 1], oz + e[i + 2])
+                        .color(1.0f, 0.0f, 0.0f, 0.85f)
+                        .normal(entry, nx, ny, nz);
+                lines.vertex(entry, ox + e[i + 3], oy + e[i + 4], oz + e[i + 5])
+                        .color(1.0f, 0.0f, 0.0f, 0.85f)
+                        .normal(entry, nx, ny, nz);
+            }
+        }
+    }
+
+    private static void renderQuads(VertexConsumer quads, MatrixStack.Entry entry, Vec3d camPos, Frustum frustum) {
+        float[] q = MESH.quads();
+
+        for (int sec = 0; sec < MESH.sectionCount(); sec++) {
+            if (frustum != null && !frustum.isVisible(MESH.sectionBounds(sec))) continue;
+
+            float ox = (float) (MESH.sectionOriginX(sec) - camPos.x);
+            float oy = (float) (MESH.sectionOriginY(sec) - camPos.y);
+            float oz = (float) (MESH.sectionOriginZ(sec) - camPos.z);
+
+            int end = MESH.sectionQuadEnd(sec);
+            for (int i = MESH.sectionQuadStart(sec); i < end; i += SpawnMarkerMesh.FLOATS_PER_QUAD) {
+                float x0 = ox + q[i], y = oy + q[i + 1], z0 = oz + q[i + 2];
+                float x1 = ox + q[i + 3], z1 = oz + q[i + 4];
+
+                // Up-facing winding (same order as a block's top face).
+                quads.vertex(entry, x0, y, z0).color(1.0f, 0.0f, 0.0f, 0.35f);
+                quads.vertex(entry, x0, y, z1).color(1.0f, 0.0f, 0.0f, 0.35f);
+                quads.vertex(entry, x1, y, z1).color(1.0f, 0.0f, 0.0f, 0.35f);
+                quads.vertex(entry, x1, y, z0).color(1.0f, 0.0f, 0.0f, 0.35f);
+            }
+        }
     }
 }
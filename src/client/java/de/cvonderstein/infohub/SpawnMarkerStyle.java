@@ -0,0 +1,35 @@
+package de.cvonderstein.infohub;
+
+/**
+ * How spawn markers are drawn.
+ *
+ * The merged styles run a greedy rectangle merge per Y-layer (see {@link SpawnMarkerMesh}),
+ * so large flat spawnable areas become a few shapes instead of hundreds of 1x1 boxes.
+ */
+public enum SpawnMarkerStyle {
+    /** One outline box per spawnable block (original behavior). */
+    BOXES("boxes"),
+    /** One outline per merged rectangle. */
+    MERGED_OUTLINE("merged"),
+    /** One filled translucent quad per merged rectangle (on the floor of the spawn block). */
+    MERGED_FILLED("filled");
+
+    private final String label;
+
+    SpawnMarkerStyle(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isMerged() {
+        return this != BOXES;
+    }
+
+    public SpawnMarkerStyle next() {
+        SpawnMarkerStyle[] all = values();
+        return all[(ordinal() + 1) % all.length];
+    }
+}
@@ -0,0 +1,33 @@
+package de.cvonderstein.infohub;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one spawn scan job on the worker thread (section evaluation + marker collection).
+ */
+@Name("de.cvonderstein.infohub.SpawnScan")
+@Label("InfoHub Spawn Scan")
+@Category("InfoHub")
+@Description("Evaluation of dirty chunk sections and collection of spawn markers")
+@StackTrace(false)
+final class SpawnScanEvent extends jdk.jfr.Event {
+    @Label("Computed Sections")
+    int computedSections;
+
+    @Label("Cached Sections")
+    int cachedSections;
+
+    @Label("Disk Hits")
+    @Description("Sections whose stored bitset matched the current content")
+    int diskHits;
+
+    @Label("Markers")
+    int markers;
+
+    @Label("Radius (Blocks)")
+    int radius;
+}
@@ -0,0 +1,352 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs spawn scans on a background thread.
+ *
+ * The client thread captures a {@link SpawnSnapshot} of the dirty sections and hands it over
+ * as a {@link Job}; the worker evaluates those sections, fills the job's marker buffer and hands
+ * the same job back, which the client thread picks up on a later tick.
+ *
+ * Important:
+ * - At most one job is in flight; the client thread owns the busy flag. Job objects and their
+ *   buffers are reused, so a steady stream of scans does not allocate per marker.
+ * - Jobs never see the live world, only the snapshot and already-published (immutable) section bitsets.
+ * - Jobs carry the generation they were started with; the caller drops stale ones.
+ * - A job may cover only part of the dirty sections (the nearest ones); its marker set then is a
+ *   partial result over everything cached so far, and the caller streams the rest in later jobs.
+ */
+final class SpawnScanWorker {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "InfoHub-SpawnScan");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private final AtomicReference<Job> completed = new AtomicReference<>();
+    private boolean busy = false; // client thread only
+
+    static final class Job {
+        int generation;
+        SpawnSnapshot snapshot;
+
+        // Marker volume (spawn-block coordinates) and its section window.
+        int centerX;
+        int centerY;
+        int centerZ;
+        int radius;
+        int minSpawnY;
+        int maxSpawnY;
+        int minSX, minSY, minSZ, maxSX, maxSY, maxSZ;
+        int markerMax;
+        /** Walk order for markers (nearest sections first, so the cap drops far markers). */
+        SectionRings rings;
+
+        /** Sections to evaluate from the snapshot. */
+        final LongArrayList computeKeys = new LongArrayList();
+        /** Per compute key: content hash of its stored disk entry (0 = none); a match skips the evaluation. */
+        final LongArrayList expectedHashes = new LongArrayList();
+        /** Compute content hashes (persistent cache enabled). */
+        boolean hashResults;
+        /** Clean sections already in the cache (bitsets are never mutated once published). */
+        final Long2ObjectOpenHashMap<long[]> cached = new Long2ObjectOpenHashMap<>();
+
+        // Output (filled by the worker)
+        final List<long[]> computedBits = new ArrayList<>();
+        /** Content hash per computed section (only with {@link #hashResults}). */
+        final LongArrayList computedHashes = new LongArrayList();
+        int diskHits;
+        /** The worker threw; computeKeys are kept (to release them), results and markers are empty. */
+        boolean failed;
+        /** Back buffer; swapped to the front by the client thread once the job comes back. */
+        PackedPosBuffer markers;
+        /** Wall time the worker spent on this job (for the profiler). */
+        long workerNanos;
+
+        void reset() {
+            snapshot = null;
+            computeKeys.clear();
+            expectedHashes.clear();
+            hashResults = false;
+            cached.clear();
+            computedBits.clear();
+            computedHashes.clear();
+            diskHits = 0;
+            failed = false;
+            workerNanos = 0;
+            // markers is set by the caller (the current back buffer)
+        }
+    }
+
+    boolean isBusy() {
+        return busy;
+    }
+
+    void submit(Job job) {
+        busy = true;
+        executor.execute(() -> {
+            final long start = System.nanoTime();
+            SpawnScanEvent event = new SpawnScanEvent();
+            event.begin();
+            try {
+                run(job);
+
+                event.computedSections = job.computeKeys.size();
+                event.cachedSections = job.cached.size() - job.computeKeys.size();
+                event.diskHits = job.diskHits;
+                event.markers = job.markers.size();
+                event.radius = job.radius;
+                event.commit();
+            } catch (Throwable t) {
+                InfoHubClient.LOGGER.warn("Spawn scan failed", t);
+                job.failed = true;
+                job.computedBits.clear();
+                job.computedHashes.clear();
+                job.markers.clear();
+            }
+            job.snapshot = null; // release copied section data early
+            job.workerNanos = System.nanoTime() - start;
+            completed.set(job);
+        });
+    }
+
+    /**
+     * Returns the finished job (if any) and frees the worker for the next one.
+     */
+    Job poll() {
+        Job job = completed.getAndSet(null);
+        if (job != null) busy = false;
+        return job;
+    }
+
+    // ----------------------------
+    // Worker side
+    // ----------------------------
+
+    private static void run(Job job) {
+        LongArrayList keys = job.computeKeys;
+        Long2ObjectOpenHashMap<long[]> all = job.cached;
+
+        for (int i = 0; i < keys.size(); i++) {
+            long key = keys.getLong(i);
+            int sx = ChunkSectionPos.unpackX(key);
+            int sy = ChunkSectionPos.unpackY(key);
+            int sz = ChunkSectionPos.unpackZ(key);
+
+            long hash = job.hashResults ? SpawnDiskCache.contentHash(job.snapshot, sx, sy, sz) : 0L;
+            long expected = job.expectedHashes.getLong(i);
+            long[] b;
+            if (expected != 0L && hash == expected && all.containsKey(key)) {
+                b = all.get(key); // stored entry still matches the world: no evaluation
+                job.diskHits++;
+            } else {
+                b = computeSection(job.snapshot, sx, sy, sz);
+            }
+            job.computedBits.add(b);
+            job.computedHashes.add(hash);
+            all.put(key, b);
+        }
+
+        collectMarkers(job, all, job.markers);
+    }
+
+    private static void collectMarkers(Job job, Long2ObjectOpenHashMap<long[]> sections, PackedPosBuffer markers) {
+        markers.clear();
+
+        final SectionRings rings = job.rings;
+        final int centerSX = ChunkSectionPos.getSectionCoord(job.centerX);
+        final int centerSZ = ChunkSectionPos.getSectionCoord(job.centerZ);
+        final int centerSY = Math.clamp(ChunkSectionPos.getSectionCoord(job.centerY), job.minSY, job.maxSY);
+        final int yCount = SectionRings.nearestYCount(centerSY, job.minSY, job.maxSY);
+
+        for (int i = 0; i < rings.size(); i++) {
+            int sx = centerSX + rings.dx(i);
+            int sz = centerSZ + rings.dz(i);
+            if (sx < job.minSX || sx > job.maxSX || sz < job.minSZ || sz > job.maxSZ) continue;
+
+            for (int k = 0; k < yCount; k++) {
+                int sy = SectionRings.nearestY(centerSY, k);
+                if (sy < job.minSY || sy > job.maxSY) continue;
+
+                long[] bits = sections.get(ChunkSectionPos.asLong(sx, sy, sz));
+                if (bits == null || bits == SpawnSectionCache.EMPTY) continue;
+
+                int baseX = ChunkSectionPos.getBlockCoord(sx);
+                int baseY = ChunkSectionPos.getBlockCoord(sy);
+                int baseZ = ChunkSectionPos.getBlockCoord(sz);
+
+                for (int w = 0; w < bits.length; w++) {
+                    long word = bits[w];
+                    while (word != 0L) {
+                        int index = (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1L;
+
+                        int x = baseX + (index & 15);
+                        int y = baseY + (index >>> 8);
+                        int z = baseZ + ((index >>> 4) & 15);
+                        if (Math.abs(x - job.centerX) > job.radius
+                                || Math.abs(z - job.centerZ) > job.radius
+                                || y < job.minSpawnY || y > job.maxSpawnY) {
+                            continue;
+                        }
+
+                        markers.add(BlockPos.asLong(x, y, z));
+                        if (markers.size() >= job.markerMax) {
+                            return; // hard cap (everything nearer is already in)
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates one whole chunk section and returns its spawn bitset (see {@link SpawnSectionCache}).
+     *
+     * Whole-section facts are checked first: without a block that can carry a mob (in this section, or
+     * in the top layer of the one below for ly = 0) or without a single non-full-cube state, nothing in
+     * the section can qualify. Remaining sections are walked column by column, y fastest, with a sliding
+     * ground / feet / head window (each state is read and classified once) that stops at the column's
+     * surface heightmap.
+     *
+     * Block questions go through the {@link SpawnStateTable}: one flag lookup per state read (skipped
+     * while a column repeats the previous state), the full check only for position-dependent states.
+     */
+    static long[] computeSection(SpawnSnapshot snapshot, int sx, int sy, int sz) {
+        long[] bits = new long[SpawnSectionCache.SECTION_WORDS];
+
+        final int baseX = ChunkSectionPos.getBlockCoord(sx);
+        final int baseY = ChunkSectionPos.getBlockCoord(sy);
+        final int baseZ = ChunkSectionPos.getBlockCoord(sz);
+
+        // Spawn block range: ground >= bottomY + 1, head <= topY - 1.
+        final int minLy = Math.max(0, snapshot.getBottomY() + 2 - baseY);
+        int maxLy = Math.min(15, snapshot.getTopY() - 1 - baseY);
+        if (minLy > maxLy) return bits;
+
+        final PalettedContainer<BlockState> below = snapshot.getSection(sx, sy - 1, sz);
+        final PalettedContainer<BlockState> here = snapshot.getSection(sx, sy, sz);
+        final PalettedContainer<BlockState> above = snapshot.getSection(sx, sy + 1, sz);
+
+        final SpawnStateTable table = SpawnStateTable.get();
+
+        // Section pruning (palette scans only, no block lookups)
+        boolean groundHere = here != null && here.hasAny(table::mayBeGround);
+        boolean groundBelow = minLy == 0 && below != null && below.hasAny(table::mayBeGround);
+        if (!groundHere && !groundBelow) return bits; // all air / no solid top: nothing to stand on
+        if (here != null && !here.hasAny(table::mayBeOpen)) return bits; // solid rock: no room for feet
+        if (!groundHere) maxLy = 0; // only the layer resting on the section below can qualify
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        // Spawn blocks always lie in this section: fetch its block light once and read it directly.
+        final ChunkNibbleArray light = snapshot.getBlockLightSection(sx, sy, sz);
+
+        // Scan for hostile-mob spawnable spots (simple heuristic):
+        // - solid ground block a zombie may spawn on
+        // - 2 blocks of empty collision above (for typical 2-block tall mobs)
+        // - block light level at spawn position == 0
+        BlockState lastState = null;
+        int lastFlags = 0;
+        for (int lz = 0; lz < 16; lz++) {
+            for (int lx = 0; lx < 16; lx++) {
+                final int x = baseX + lx;
+                final int z = baseZ + lz;
+
+                // Column pruning: nothing above the surface block + 1 has ground.
+                int surfaceY = snapshot.getSurfaceY(x, z);
+                int hi = surfaceY == SpawnSnapshot.NO_SURFACE ? maxLy : Math.min(maxLy, surfaceY + 1 - baseY);
+                if (hi < minLy) continue;
+
+                // Sliding window: ground = ly - 1, spawn = ly, head = ly + 1.
+                BlockState groundState = stateAt(below, here, above, lx, minLy - 1, lz);
+                int groundFlags = table.flags(groundState);
+                BlockState spawnState = stateAt(below, here, above, lx, minLy, lz);
+                int spawnFlags = table.flags(spawnState);
+                boolean spawnOpen = table.isOpen(snapshot, spawnState, pos.set(x, baseY + minLy, z), spawnFlags);
+
+                for (int ly = minLy; ly <= hi; ly++) {
+                    BlockState headState = stateAt(below, here, above, lx, ly + 1, lz);
+                    if (headState != lastState) {
+                        lastState = headState;
+                        lastFlags = table.flags(headState);
+                    }
+                    int headFlags = lastFlags;
+                    boolean headOpen = table.isOpen(snapshot, headState, pos.set(x, baseY + ly + 1, z), headFlags);
+
+                    if (spawnOpen && headOpen
+                            && (light == null || light.get(lx, ly, lz) == 0)
+                            && table.isGround(snapshot, groundState, pos.set(x, baseY + ly - 1, z), groundFlags)) {
+                        SpawnSectionCache.set(bits, SpawnSectionCache.localIndex(lx, ly, lz));
+                    }
+
+                    groundState = spawnState;
+                    groundFlags = spawnFlags;
+                    spawnState = headState;
+                    spawnFlags = headFlags;
+                    spawnOpen = headOpen;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /** Reads ly in -1..16 from this section or its neighbours; missing sections read as air. */
+    private static BlockState stateAt(@Nullable PalettedContainer<BlockState> below,
+                                      @Nullable PalettedContainer<BlockState> here,
+                                      @Nullable PalettedContainer<BlockState> above,
+                                      int lx, int ly, int lz) {
+        PalettedContainer<BlockState> c;
+        if (ly < 0) {
+            c = below;
+            ly += 16;
+        } else if (ly > 15) {
+            c = above;
+            ly -= 16;
+        } else {
+            c = here;
+        }
+        return c == null ? SpawnSnapshot.AIR : c.get(lx, ly, lz);
+    }
+
+    static boolean isHostileSpawnableSpot(SpawnSnapshot world, BlockPos ground, BlockPos spawn, BlockPos head) {
+        // Hostile-mob relevant light rule: "block light" must be 0.
+        // (This matches current modern spawning behavior for most hostile mobs.)
+        return world.getBlockLight(spawn.getX(), spawn.getY(), spawn.getZ()) == 0
+                && hasHostileSpawnSpace(world, ground, spawn, head);
+    }
+
+    /**
+     * Block part of the check (light excluded): spawnable solid ground, and no collision / fluid at feet and head.
+     */
+    static boolean hasHostileSpawnSpace(BlockView world, BlockPos ground, BlockPos spawn, BlockPos head) {
+        final SpawnStateTable table = SpawnStateTable.get();
+
+        // Solid top surface
+        BlockState groundState = world.getBlockState(ground);
+        if (!table.isGround(world, groundState, ground, table.flags(groundState))) return false;
+
+        // Space for body/head (collision must be empty, and no fluids)
+        BlockState spawnState = world.getBlockState(spawn);
+        if (!table.isOpen(world, spawnState, spawn, table.flags(spawnState))) return false;
+
+        BlockState headState = world.getBlockState(head);
+        return table.isOpen(world, headState, head, table.flags(headState));
+    }
+}
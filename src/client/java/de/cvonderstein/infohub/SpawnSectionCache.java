@@ -0,0 +1,172 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Spawnability results cached per 16x16x16 chunk section.
+ *
+ * Each entry is a 4096-bit set (one bit per block in the section, index = y<<8 | z<<4 | x)
+ * marking the "spawn air blocks" (where a mob's feet would be) that passed the spawn heuristic.
+ *
+ * Important:
+ * - Entries are only dropped by block updates, light updates and chunk load/unload,
+ *   so a steady-state scan only has to recompute the sections that actually changed.
+ * - A spawn position depends on the block below (ground) and above (head), so a block
+ *   update invalidates the sections of y-1, y and y+1.
+ * - Only accessed from the client thread. Sections handed to the scan worker are tracked as
+ *   "in flight"; if one is invalidated before its result comes back, that result is discarded.
+ * - Entries loaded from {@link SpawnDiskCache} are "unverified": shown like any other entry, but
+ *   handed to the worker again until a result checked against the live world replaces them.
+ */
+final class SpawnSectionCache {
+    /** Number of longs needed for one bit per block of a section. */
+    static final int SECTION_WORDS = 4096 / 64;
+
+    /** Shared result of sections that cannot hold a spawn spot (never mutated, like every published bitset). */
+    static final long[] EMPTY = new long[SECTION_WORDS];
+
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet inFlight = new LongOpenHashSet();
+    private final LongOpenHashSet invalidatedInFlight = new LongOpenHashSet();
+    private final LongOpenHashSet unverified = new LongOpenHashSet();
+
+    long[] get(long sectionKey) {
+        return sections.get(sectionKey);
+    }
+
+    void put(long sectionKey, long[] bits) {
+        sections.put(sectionKey, bits);
+        unverified.remove(sectionKey);
+    }
+
+    void putUnverified(long sectionKey, long[] bits) {
+        sections.put(sectionKey, bits);
+        unverified.add(sectionKey);
+    }
+
+    boolean isUnverified(long sectionKey) {
+        return unverified.contains(sectionKey);
+    }
+
+    boolean isInFlight(long sectionKey) {
+        return inFlight.contains(sectionKey);
+    }
+
+    void markInFlight(long sectionKey) {
+        inFlight.add(sectionKey);
+    }
+
+    /**
+     * Stores a worker result, unless the section was invalidated while it was being computed.
+     *
+     * @return true if the result was stored
+     */
+    boolean completeInFlight(long sectionKey, long[] bits) {
+        inFlight.remove(sectionKey);
+        if (invalidatedInFlight.remove(sectionKey)) return false;
+        put(sectionKey, bits);
+        return true;
+    }
+
+    /**
+     * Releases a section whose job failed; it keeps its previous state (missing or unverified entry)
+     * and is planned again by the next scan.
+     */
+    void cancelInFlight(long sectionKey) {
+        inFlight.remove(sectionKey);
+        invalidatedInFlight.remove(sectionKey);
+    }
+
+    int size() {
+        return sections.size();
+    }
+
+    void clear() {
+        sections.clear();
+        inFlight.clear();
+        invalidatedInFlight.clear();
+        unverified.clear();
+    }
+
+    // ----------------------------
+    // Invalidation
+    // ----------------------------
+
+    void invalidateBlock(int x, int y, int z) {
+        int sx = ChunkSectionPos.getSectionCoord(x);
+        int sz = ChunkSectionPos.getSectionCoord(z);
+        int syBelow = ChunkSectionPos.getSectionCoord(y - 1);
+        int syAbove = ChunkSectionPos.getSectionCoord(y + 1);
+
+        // y-1..y+1 spans at most two sections.
+        invalidate(ChunkSectionPos.asLong(sx, syBelow, sz));
+        if (syAbove != syBelow) {
+            invalidate(ChunkSectionPos.asLong(sx, syAbove, sz));
+        }
+    }
+
+    void invalidateSection(int sx, int sy, int sz) {
+        invalidate(ChunkSectionPos.asLong(sx, sy, sz));
+    }
+
+    private void invalidate(long sectionKey) {
+        sections.remove(sectionKey);
+        unverified.remove(sectionKey);
+        if (inFlight.contains(sectionKey)) {
+            invalidatedInFlight.add(sectionKey);
+        }
+    }
+
+    void invalidateColumn(int sx, int sz) {
+        ObjectIterator<Long2ObjectMap.Entry<long[]>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            long key = it.next().getLongKey();
+            if (ChunkSectionPos.unpackX(key) == sx && ChunkSectionPos.unpackZ(key) == sz) {
+                it.remove();
+                unverified.remove(key);
+            }
+        }
+
+        LongIterator flying = inFlight.iterator();
+        while (flying.hasNext()) {
+            long key = flying.nextLong();
+            if (ChunkSectionPos.unpackX(key) == sx && ChunkSectionPos.unpackZ(key) == sz) {
+                invalidatedInFlight.add(key);
+            }
+        }
+    }
+
+    /**
+     * Drops everything outside the given section window (inclusive) to keep memory bounded.
+     */
+    void retainWindow(int minSX, int minSY, int minSZ, int maxSX, int maxSY, int maxSZ) {
+        ObjectIterator<Long2ObjectMap.Entry<long[]>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            long key = it.next().getLongKey();
+            int sx = ChunkSectionPos.unpackX(key);
+            int sy = ChunkSectionPos.unpackY(key);
+            int sz = ChunkSectionPos.unpackZ(key);
+            if (sx < minSX || sx > maxSX || sy < minSY || sy > maxSY || sz < minSZ || sz > maxSZ) {
+                it.remove();
+                unverified.remove(key);
+            }
+        }
+    }
+
+    // ----------------------------
+    // Bit helpers
+    // ----------------------------
+
+    static int localIndex(int lx, int ly, int lz) {
+        return (ly << 8) | (lz << 4) | lx;
+    }
+
+    static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << (index & 63);
+    }
+}
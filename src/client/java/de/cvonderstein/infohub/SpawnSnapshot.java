@@ -0,0 +1,173 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.LightType;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable copy of the chunk sections a spawn scan needs (block-state palettes + block light),
+ * plus the surface heightmap of every captured chunk column.
+ *
+ * Captured on the client thread, then read by the scan worker without touching the live world.
+ *
+ * Important:
+ * - Sections that were not captured read as air with block light 0.
+ * - Block entities are never copied (the spawn heuristic does not need them).
+ * - Columns without a captured heightmap report no surface limit ({@link #NO_SURFACE}).
+ */
+final class SpawnSnapshot implements BlockView {
+    static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    /** {@link #getSurfaceY} of a column whose heightmap was not captured. */
+    static final int NO_SURFACE = Integer.MAX_VALUE;
+
+    private final int bottomY;
+    private final int height;
+
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> blocks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<ChunkNibbleArray> blockLight = new Long2ObjectOpenHashMap<>();
+    /** Highest non-air block y per column, index = z<<4 | x. */
+    private final Long2ObjectOpenHashMap<int[]> surfaces = new Long2ObjectOpenHashMap<>();
+
+    SpawnSnapshot(int bottomY, int height) {
+        this.bottomY = bottomY;
+        this.height = height;
+    }
+
+    static SpawnSnapshot create(ClientWorld world) {
+        return new SpawnSnapshot(world.getBottomY(), world.getHeight());
+    }
+
+    /**
+     * Copies one section's block light and, unless the section is empty, its block states
+     * (if its chunk is loaded).
+     *
+     * Light is copied for empty sections too: a spawn block at the bottom of an all-air section
+     * stands on the section below, and its light lives in the empty section.
+     */
+    void capture(ClientWorld world, int sx, int sy, int sz) {
+        long key = ChunkSectionPos.asLong(sx, sy, sz);
+        if (blocks.containsKey(key) || blockLight.containsKey(key)) return;
+
+        int index = world.sectionCoordToIndex(sy);
+        if (index < 0 || index >= world.countVerticalSections()) return;
+        if (!world.isChunkLoaded(sx, sz)) return;
+
+        WorldChunk chunk = world.getChunk(sx, sz);
+        captureSurface(chunk, sx, sz);
+
+        ChunkNibbleArray light = world.getLightingProvider().get(LightType.BLOCK)
+                .getLightSection(ChunkSectionPos.from(sx, sy, sz));
+        if (light != null) {
+            blockLight.put(key, light.copy());
+        }
+
+        ChunkSection section = chunk.getSection(index);
+        if (section == null || section.isEmpty()) return; // states read as air
+
+        blocks.put(key, section.getBlockStateContainer().copy());
+    }
+
+    private void captureSurface(WorldChunk chunk, int sx, int sz) {
+        long key = ChunkPos.toLong(sx, sz);
+        if (surfaces.containsKey(key)) return;
+
+        int[] top = new int[256];
+        for (int lz = 0; lz < 16; lz++) {
+            for (int lx = 0; lx < 16; lx++) {
+                top[lz << 4 | lx] = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, lx, lz);
+            }
+        }
+        surfaces.put(key, top);
+    }
+
+    /**
+     * Adds an already-copied section (synthetic worlds in benchmarks / replays).
+     */
+    void put(int sx, int sy, int sz, PalettedContainer<BlockState> states, @Nullable ChunkNibbleArray light) {
+        long key = ChunkSectionPos.asLong(sx, sy, sz);
+        blocks.put(key, states);
+        if (light != null) {
+            blockLight.put(key, light);
+        } else {
+            blockLight.remove(key);
+        }
+    }
+
+    /**
+     * Block states of one section (null = not captured, reads as air); lets scans skip the per-block hash lookup.
+     */
+    @Nullable PalettedContainer<BlockState> getSection(int sx, int sy, int sz) {
+        return blocks.get(ChunkSectionPos.asLong(sx, sy, sz));
+    }
+
+    /**
+     * Highest non-air block y of a column, or {@link #NO_SURFACE} if its heightmap was not captured.
+     */
+    int getSurfaceY(int x, int z) {
+        int[] top = surfaces.get(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z)));
+        return top == null ? NO_SURFACE : top[(z & 15) << 4 | (x & 15)];
+    }
+
+    /**
+     * Block-light nibbles of one section (null = no light data, reads as 0); lets scans fetch them once per section.
+     */
+    @Nullable ChunkNibbleArray getBlockLightSection(int sx, int sy, int sz) {
+        return blockLight.get(ChunkSectionPos.asLong(sx, sy, sz));
+    }
+
+    int getBlockLight(int x, int y, int z) {
+        ChunkNibbleArray light = blockLight.get(ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(x),
+                ChunkSectionPos.getSectionCoord(y),
+                ChunkSectionPos.getSectionCoord(z)));
+        return light == null ? 0 : light.get(x & 15, y & 15, z & 15);
+    }
+
+    // ----------------------------
+    // BlockView
+    // ----------------------------
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        PalettedContainer<BlockState> container = blocks.get(ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(pos.getX()),
+                ChunkSectionPos.getSectionCoord(pos.getY()),
+                ChunkSectionPos.getSectionCoord(pos.getZ())));
+        return container == null ? AIR : container.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getBottomY() {
+        return bottomY;
+    }
+}
@@ -0,0 +1,115 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.EmptyBlockView;
+
+/**
+ * Spawn-relevant block-state properties, precomputed per state raw id.
+ *
+ * The spawn checks ask the same questions about the same few states millions of times
+ * ("is this solid ground a zombie may spawn on?", "is this free of collision and fluid?"). For almost
+ * every state the answer does not depend on the position: the game itself caches collision shapes
+ * and full-cube flags per state. So the answers are computed once per state into a byte per raw id,
+ * and a check is one id lookup plus a flag test.
+ *
+ * Important:
+ * - States of blocks with dynamic bounds (shape depends on the position, e.g. bamboo, pointed
+ *   dripstone) are flagged {@link #DYNAMIC}; for them the full position-dependent check runs.
+ * - "Ground" includes the block's spawn restriction for a typical hostile mob (zombie), so ice, magma,
+ *   bedrock and barriers are not marked.
+ * - Immutable once built; {@link #rebuild()} (on join, raw ids may change with registry sync) swaps
+ *   in a new table, so the scan worker can read the current one without locking.
+ */
+final class SpawnStateTable {
+    /** Solid top a hostile mob may spawn on. */
+    static final int GROUND = 1;
+    /** No collision and no fluid (room for feet / head). */
+    static final int OPEN = 1 << 1;
+    /** Position dependent: {@link #GROUND} / {@link #OPEN} are not set, ask {@link #isGround} / {@link #isOpen}. */
+    static final int DYNAMIC = 1 << 2;
+
+    /** Mob the ground spawn restriction is checked for. */
+    private static final EntityType<?> REFERENCE_MOB = EntityType.ZOMBIE;
+
+    private static volatile SpawnStateTable current;
+
+    private final byte[] flags;
+
+    private SpawnStateTable(byte[] flags) {
+        this.flags = flags;
+    }
+
+    /** Current table (built on first use, e.g. in the headless replay / benchmarks). */
+    static SpawnStateTable get() {
+        SpawnStateTable t = current;
+        if (t == null) {
+            t = rebuild();
+        }
+        return t;
+    }
+
+    static SpawnStateTable rebuild() {
+        byte[] f = new byte[Block.STATE_IDS.size()];
+        for (BlockState state : Block.STATE_IDS) {
+            int id = Block.getRawIdFromState(state);
+            if (id >= 0 && id < f.length) f[id] = (byte) classify(state);
+        }
+        SpawnStateTable t = new SpawnStateTable(f);
+        current = t;
+        return t;
+    }
+
+    private static int classify(BlockState state) {
+        if (state.getBlock().hasDynamicBounds()) return DYNAMIC;
+
+        int f = 0;
+        if (isGround(EmptyBlockView.INSTANCE, state, BlockPos.ORIGIN)) f |= GROUND;
+        if (isOpen(EmptyBlockView.INSTANCE, state, BlockPos.ORIGIN)) f |= OPEN;
+        return f;
+    }
+
+    // ----------------------------
+    // Lookups
+    // ----------------------------
+
+    int flags(BlockState state) {
+        int id = Block.getRawIdFromState(state);
+        return id >= 0 && id < flags.length ? flags[id] : DYNAMIC; // unknown state: ask the state
+    }
+
+    boolean isGround(BlockView world, BlockState state, BlockPos pos, int flags) {
+        return (flags & DYNAMIC) != 0 ? isGround(world, state, pos) : (flags & GROUND) != 0;
+    }
+
+    boolean isOpen(BlockView world, BlockState state, BlockPos pos, int flags) {
+        return (flags & DYNAMIC) != 0 ? isOpen(world, state, pos) : (flags & OPEN) != 0;
+    }
+
+    /** Palette filter: can this state be spawn ground anywhere? */
+    boolean mayBeGround(BlockState state) {
+        return (flags(state) & (GROUND | DYNAMIC)) != 0;
+    }
+
+    /** Palette filter: can feet / head fit into this state anywhere? */
+    boolean mayBeOpen(BlockState state) {
+        return (flags(state) & (OPEN | DYNAMIC)) != 0;
+    }
+
+    // ----------------------------
+    // Full checks (table build + dynamic states)
+    // ----------------------------
+
+    static boolean isGround(BlockView world, BlockState state, BlockPos pos) {
+        return !state.isAir()
+                && state.isSolidBlock(world, pos)
+                && state.allowsSpawning(world, pos, REFERENCE_MOB);
+    }
+
+    static boolean isOpen(BlockView world, BlockState state, BlockPos pos) {
+        return state.getCollisionShape(world, pos).isEmpty() && state.getFluidState().isEmpty();
+    }
+}
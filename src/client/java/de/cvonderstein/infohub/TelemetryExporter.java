@@ -0,0 +1,257 @@
+package de.cvonderstein.infohub;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams InfoHub's computed values to local JSON-lines files for offline analysis.
+ *
+ * The client thread fills one fixed-size record of longs per sample into a bounded single-producer /
+ * single-consumer ring (two atomic sequence counters, no locks). The "InfoHub-Telemetry" thread wakes
+ * a few times per second, drains the ring in one batch, formats the records as JSON lines and writes
+ * them to {@code infohub/telemetry/<session>-<part>.jsonl}, starting a new part once a file reaches the
+ * rotation size and keeping only the newest {@link #KEEP_PARTS} parts.
+ *
+ * Record layout: {@code FIELD_*} header values, then per player ring one count, per mob ring
+ * hostile + non-hostile, per profiler subsystem p50 + p99 (ns).
+ *
+ * Important:
+ * - The client thread never blocks and never allocates: if the ring is full, the sample is dropped
+ *   and counted ({@code "dropped"} in the next written line).
+ * - I/O errors are logged once and stop the export.
+ */
+final class TelemetryExporter {
+    static final int FIELD_TICK = 0;
+    static final int FIELD_TIME_MILLIS = 1;
+    static final int FIELD_FPS = 2;
+    static final int FIELD_FRAME_P50_MICROS = 3;
+    static final int FIELD_FRAME_P99_MICROS = 4;
+    static final int FIELD_RTT_MS = 5;
+    static final int FIELD_SPEED_HUNDREDTHS = 6;
+    static final int FIELD_LIGHT = 7;
+    static final int FIELD_MARKERS = 8;
+    static final int HEADER_FIELDS = 9;
+
+    /** Records buffered between writer wake-ups (~50 s of per-tick samples). */
+    private static final int CAPACITY = 1024;
+    private static final long WAKE_NANOS = 250_000_000L;
+    private static final int KEEP_PARTS = 8;
+
+    private final Path dir;
+    private final String session;
+    private final long rotateBytes;
+
+    private final int[] playerRadii;
+    private final int[] mobRadii;
+    private final String[] subsystemLabels;
+    private final int stride;
+
+    // Ring: slot i occupies records[(seq % CAPACITY) * stride ..]
+    private final long[] records;
+    private final AtomicLong head = new AtomicLong(); // next sequence to read (consumer)
+    private final AtomicLong tail = new AtomicLong(); // next sequence to write (producer)
+    private final AtomicLong dropped = new AtomicLong();
+    private int writeIndex = 0; // producer-local field cursor
+
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private final StringBuilder line = new StringBuilder(512);
+    private final ArrayDeque<Path> parts = new ArrayDeque<>();
+    private Writer out;
+    private long outBytes;
+    private int part = 0;
+    private volatile boolean failed = false;
+
+    private TelemetryExporter(Path dir, String session, long rotateBytes,
+                              int[] playerRadii, int[] mobRadii, String[] subsystemLabels) {
+        this.dir = dir;
+        this.session = session;
+        this.rotateBytes = rotateBytes;
+        this.playerRadii = playerRadii;
+        this.mobRadii = mobRadii;
+        this.subsystemLabels = subsystemLabels;
+        this.stride = HEADER_FIELDS + playerRadii.length + mobRadii.length * 2 + subsystemLabels.length * 2;
+        this.records = new long[CAPACITY * stride];
+
+        thread = new Thread(this::runWriter, "InfoHub-Telemetry");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Starts an export session; returns null (and logs) if the directory cannot be created.
+     */
+    static @Nullable TelemetryExporter start(Path dir, String session, int rotateMegabytes,
+                                             int[] playerRadii, int[] mobRadii, String[] subsystemLabels) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            InfoHubClient.LOGGER.warn("Could not start telemetry export to {}", dir, e);
+            return null;
+        }
+        TelemetryExporter exporter = new TelemetryExporter(dir, session, rotateMegabytes * 1024L * 1024L,
+                playerRadii.clone(), mobRadii.clone(), subsystemLabels.clone());
+        exporter.thread.start();
+        InfoHubClient.LOGGER.info("Exporting telemetry to {}", dir.resolve(session + "-*.jsonl"));
+        return exporter;
+    }
+
+    // ----------------------------
+    // Producer (client thread)
+    // ----------------------------
+
+    /**
+     * Starts a record; returns false (sample dropped) if the ring is full.
+     * On true, write exactly {@code stride} values with {@link #put} and finish with {@link #commit()}.
+     */
+    boolean begin() {
+        long t = tail.get();
+        if (t - head.get() >= CAPACITY || failed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        writeIndex = (int) (t % CAPACITY) * stride;
+        return true;
+    }
+
+    TelemetryExporter put(long value) {
+        records[writeIndex++] = value;
+        return this;
+    }
+
+    void commit() {
+        tail.lazySet(tail.get() + 1); // publishes the record (release)
+    }
+
+    // ----------------------------
+    // Consumer (writer thread)
+    // ----------------------------
+
+    private void runWriter() {
+        while (running) {
+            LockSupport.parkNanos(this, WAKE_NANOS);
+            drain();
+        }
+        drain();
+        closeOut();
+    }
+
+    private void drain() {
+        long h = head.get();
+        long t = tail.get(); // acquire: records before t are complete
+        if (h == t || failed) return;
+
+        try {
+            for (; h < t; h++) {
+                formatRecord((int) (h % CAPACITY) * stride);
+                head.lazySet(h + 1); // slot may be reused
+                writeLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void formatRecord(int base) {
+        StringBuilder sb = line;
+        sb.setLength(0);
+        sb.append("{\"t\":").append(records[base + FIELD_TIME_MILLIS])
+                .append(",\"tick\":").append(records[base + FIELD_TICK])
+                .append(",\"fps\":").append(records[base + FIELD_FPS])
+                .append(",\"frameP50Us\":").append(records[base + FIELD_FRAME_P50_MICROS])
+                .append(",\"frameP99Us\":").append(records[base + FIELD_FRAME_P99_MICROS])
+                .append(",\"rttMs\":").append(records[base + FIELD_RTT_MS])
+                .append(",\"speed\":").append(records[base + FIELD_SPEED_HUNDREDTHS] / 100.0)
+                .append(",\"light\":").append(records[base + FIELD_LIGHT])
+                .append(",\"markers\":").append(records[base + FIELD_MARKERS]);
+
+        int i = base + HEADER_FIELDS;
+        sb.append(",\"players\":{");
+        for (int r = 0; r < playerRadii.length; r++) {
+            if (r > 0) sb.append(',');
+            sb.append('"').append(playerRadii[r]).append("\":").append(records[i++]);
+        }
+        sb.append("},\"mobs\":{");
+        for (int r = 0; r < mobRadii.length; r++) {
+            if (r > 0) sb.append(',');
+            sb.append('"').append(mobRadii[r]).append("\":[").append(records[i++]).append(',').append(records[i++]).append(']');
+        }
+        sb.append("},\"timingsNs\":{");
+        for (int s = 0; s < subsystemLabels.length; s++) {
+            if (s > 0) sb.append(',');
+            sb.append('"').append(subsystemLabels[s]).append("\":[").append(records[i++]).append(',').append(records[i++]).append(']');
+        }
+        sb.append('}');
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) sb.append(",\"dropped\":").append(lost);
+        sb.append("}\n");
+    }
+
+    private void writeLine() throws IOException {
+        if (out == null || outBytes >= rotateBytes) {
+            rotate();
+        }
+        out.append(line);
+        outBytes += line.length(); // ASCII only
+    }
+
+    private void rotate() throws IOException {
+        closeOut();
+        Path file = dir.resolve(session + "-" + (part++) + ".jsonl");
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        outBytes = 0;
+        parts.addLast(file);
+        while (parts.size() > KEEP_PARTS) {
+            Files.deleteIfExists(parts.removeFirst());
+        }
+    }
+
+    private void closeOut() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        out = null;
+    }
+
+    private void fail(IOException e) {
+        if (!failed) {
+            failed = true;
+            InfoHubClient.LOGGER.warn("Telemetry export to {} failed, stopping", dir, e);
+        }
+    }
+
+    // ----------------------------
+    // Lifecycle
+    // ----------------------------
+
+    /**
+     * Stops the writer after a final drain (waits briefly).
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            InfoHubClient.LOGGER.warn("Telemetry export to {} did not finish writing in time", dir);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.client.MinecraftClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Small time-budgeted scheduler for all per-tick InfoHub work.
+ *
+ * Every subsystem registers as a task with a target period (ticks) and a time budget (ns).
+ * Phases are staggered on registration so periodic tasks do not pile up on the same tick,
+ * and all tasks of one tick share a frame slice: once the slice is used up, further due
+ * tasks wait for the next tick.
+ *
+ * Important:
+ * - A task returns false if it stopped at its deadline and wants to be resumed; it then stays
+ *   due (and keeps its place in the order) until it returns true.
+ * - The first task of a tick always runs, so work is never starved completely.
+ * - Client thread only.
+ */
+final class TickScheduler {
+    interface Task {
+        /**
+         * @param deadlineNanos {@link System#nanoTime()} value to stop at (resumable tasks only)
+         * @return true if the run is complete, false to be resumed next tick
+         */
+        boolean run(MinecraftClient client, long deadlineNanos);
+    }
+
+    static final class Entry {
+        final String name;
+        int periodTicks;
+        final long budgetNanos;
+        final int phase;
+        final Task task;
+
+        boolean pending = false;
+
+        Entry(String name, int periodTicks, long budgetNanos, int phase, Task task) {
+            this.name = name;
+            this.periodTicks = periodTicks;
+            this.budgetNanos = budgetNanos;
+            this.phase = phase;
+            this.task = task;
+        }
+
+        /**
+         * Changes the period at runtime (quality governor); the phase is kept, so staggering is only
+         * as good as it was for the registered period.
+         */
+        void setPeriodTicks(int periodTicks) {
+            this.periodTicks = Math.max(1, periodTicks);
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private long frameSliceNanos;
+
+    TickScheduler(long frameSliceNanos) {
+        this.frameSliceNanos = frameSliceNanos;
+    }
+
+    void setFrameSliceNanos(long frameSliceNanos) {
+        this.frameSliceNanos = frameSliceNanos;
+    }
+
+    /**
+     * Registers a task; registration order is priority order within a tick.
+     */
+    Entry register(String name, int periodTicks, long budgetNanos, Task task) {
+        int period = Math.max(1, periodTicks);
+        Entry e = new Entry(name, period, budgetNanos, pickPhase(period), task);
+        entries.add(e);
+        return e;
+    }
+
+    /**
+     * Picks the phase that collides with the fewest existing tasks.
+     * Two tasks meet on some tick iff their phases are congruent modulo gcd(periods).
+     */
+    private int pickPhase(int period) {
+        int best = 0;
+        int bestCollisions = Integer.MAX_VALUE;
+        for (int p = 0; p < period; p++) {
+            int collisions = 0;
+            for (Entry e : entries) {
+                if (e.periodTicks == 1) continue; // every-tick tasks meet everyone anyway
+                int g = gcd(period, e.periodTicks);
+                if (Math.floorMod(p - e.phase, g) == 0) collisions++;
+            }
+            if (collisions < bestCollisions) {
+                best = p;
+                bestCollisions = collisions;
+            }
+        }
+        return best;
+    }
+
+    void tick(MinecraftClient client, int tick) {
+        final long start = System.nanoTime();
+        final long sliceEnd = start + frameSliceNanos;
+        boolean ranAny = false;
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            if (!e.pending && Math.floorMod(tick - e.phase, e.periodTicks) == 0) {
+                e.pending = true;
+            }
+            if (!e.pending) continue;
+
+            long now = System.nanoTime();
+            if (ranAny && now >= sliceEnd) continue; // slice used up -> stays pending
+
+            long deadline = ranAny ? Math.min(now + e.budgetNanos, sliceEnd) : now + e.budgetNanos;
+            if (e.task.run(client, deadline)) {
+                e.pending = false;
+            }
+            ranAny = true;
+        }
+    }
+
+    /** Drops all pending / resumable state (e.g. on world change). */
+    void reset() {
+        for (Entry e : entries) {
+            e.pending = false;
+        }
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,198 @@
+package de.cvonderstein.infohub;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of UUIDs (stored as their two longs) with generation stamps.
+ *
+ * One pass over the current players looks like:
+ * {@code beginPass()}, {@code mark(msb, lsb)} for everyone in range (returns true = entered),
+ * then {@code sweep()} removes everyone not marked in this pass and exposes them as "left".
+ *
+ * Important:
+ * - No boxing, no per-pass allocation; arrays only grow when the set outgrows its high-water mark.
+ * - Deleted slots become tombstones; the table is rehashed in place (into preallocated scratch
+ *   arrays) once tombstones pile up.
+ * - Client thread only.
+ */
+final class UuidStampSet {
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+
+    private long[] msb;
+    private long[] lsb;
+    private int[] stamp; // EMPTY, TOMBSTONE or the generation that last marked the entry
+
+    // Scratch arrays for in-place rehashing (same capacity as the table).
+    private long[] scratchMsb;
+    private long[] scratchLsb;
+    private int[] scratchStamp;
+
+    private int mask;
+    private int size = 0;
+    private int tombstones = 0;
+    private int generation = 1;
+
+    // Entries removed by the last sweep()
+    private long[] leftMsb = new long[16];
+    private long[] leftLsb = new long[16];
+    private int leftCount = 0;
+
+    UuidStampSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(stamp, EMPTY);
+        size = 0;
+        tombstones = 0;
+        leftCount = 0;
+    }
+
+    // ----------------------------
+    // Pass API
+    // ----------------------------
+
+    void beginPass() {
+        generation++;
+        if (generation <= 0) {
+            // Wrapped: restamp live entries so they still count as "seen last pass".
+            generation = 2;
+            for (int i = 0; i < stamp.length; i++) {
+                if (stamp[i] > 0) stamp[i] = 1;
+            }
+        }
+        leftCount = 0;
+    }
+
+    /**
+     * Marks a UUID as present in this pass; returns true if it was not in the set before.
+     */
+    boolean mark(long hi, long lo) {
+        int firstTombstone = -1;
+        int i = hash(hi, lo) & mask;
+        while (true) {
+            int s = stamp[i];
+            if (s == EMPTY) break;
+            if (s == TOMBSTONE) {
+                if (firstTombstone < 0) firstTombstone = i;
+            } else if (msb[i] == hi && lsb[i] == lo) {
+                stamp[i] = generation;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (firstTombstone >= 0) {
+            i = firstTombstone;
+            tombstones--;
+        }
+        msb[i] = hi;
+        lsb[i] = lo;
+        stamp[i] = generation;
+        size++;
+
+        if ((size + tombstones) * 4 > stamp.length * 3) {
+            rehash(size * 2 > stamp.length ? stamp.length * 2 : stamp.length);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every entry not marked since {@link #beginPass()}; they are available via {@code left*}.
+     */
+    int sweep() {
+        for (int i = 0; i < stamp.length; i++) {
+            int s = stamp[i];
+            if (s > 0 && s != generation) {
+                if (leftCount == leftMsb.length) {
+                    leftMsb = Arrays.copyOf(leftMsb, leftCount * 2);
+                    leftLsb = Arrays.copyOf(leftLsb, leftCount * 2);
+                }
+                leftMsb[leftCount] = msb[i];
+                leftLsb[leftCount] = lsb[i];
+                leftCount++;
+
+                stamp[i] = TOMBSTONE;
+                size--;
+                tombstones++;
+            }
+        }
+
+        if (tombstones * 4 > stamp.length) {
+            rehash(stamp.length);
+        }
+        return leftCount;
+    }
+
+    int leftCount() {
+        return leftCount;
+    }
+
+    long leftMsb(int index) {
+        return leftMsb[index];
+    }
+
+    long leftLsb(int index) {
+        return leftLsb[index];
+    }
+
+    // ----------------------------
+    // Internals
+    // ----------------------------
+
+    private void allocate(int capacity) {
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        stamp = new int[capacity];
+        scratchMsb = new long[capacity];
+        scratchLsb = new long[capacity];
+        scratchStamp = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMsb = msb;
+        long[] oldLsb = lsb;
+        int[] oldStamp = stamp;
+
+        if (capacity == stamp.length) {
+            // Same size: swap in the scratch arrays (no allocation).
+            msb = scratchMsb;
+            lsb = scratchLsb;
+            stamp = scratchStamp;
+            scratchMsb = oldMsb;
+            scratchLsb = oldLsb;
+            scratchStamp = oldStamp;
+            Arrays.fill(stamp, EMPTY);
+        } else {
+            allocate(capacity);
+        }
+
+        for (int j = 0; j < oldStamp.length; j++) {
+            int s = oldStamp[j];
+            if (s <= 0) continue;
+
+            int i = hash(oldMsb[j], oldLsb[j]) & mask;
+            while (stamp[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            msb[i] = oldMsb[j];
+            lsb[i] = oldLsb[j];
+            stamp[i] = s;
+        }
+        tombstones = 0;
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi ^ (lo * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
@@ -0,0 +1,21 @@
+package de.cvonderstein.infohub.mixin;
+
+import de.cvonderstein.infohub.InfoHubState;
+import net.minecraft.client.world.ClientChunkManager;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.LightType;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Forwards per-section light updates to InfoHub (spawn markers depend on block light).
+ */
+@Mixin(ClientChunkManager.class)
+public abstract class ClientChunkManagerMixin {
+    @Inject(method = "onLightUpdate", at = @At("TAIL"))
+    private void infohub$onLightUpdate(LightType type, ChunkSectionPos pos, CallbackInfo ci) {
+        InfoHubState.INSTANCE.onLightUpdate(pos);
+    }
+}
@@ -0,0 +1,42 @@
+package de.cvonderstein.infohub.mixin;
+
+import de.cvonderstein.infohub.InfoHubState;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.entity.EntityLike;
+import org.objectweb.asm.Opcodes;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Forwards entity chunk-section changes to InfoHub's mob index.
+ *
+ * {@code updateEntityPosition} runs on every position update of every entity; it compares the
+ * entity's section with the last one and only moves it between tracking sections on a change.
+ * The hook sits right after the {@code lastSectionPos} write inside that branch, so InfoHub only
+ * runs when an entity actually crosses a section boundary.
+ */
+@Mixin(targets = "net.minecraft.client.world.ClientEntityManager$Listener")
+public abstract class ClientEntityManagerListenerMixin {
+    @Shadow
+    @Final
+    private EntityLike entity;
+
+    @Inject(
+            method = "updateEntityPosition",
+            at = @At(
+                    value = "FIELD",
+                    target = "Lnet/minecraft/client/world/ClientEntityManager$Listener;lastSectionPos:J",
+                    opcode = Opcodes.PUTFIELD,
+                    shift = At.Shift.AFTER
+            )
+    )
+    private void infohub$onSectionChanged(CallbackInfo ci) {
+        if (entity instanceof Entity e) {
+            InfoHubState.INSTANCE.onEntityMoved(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package de.cvonderstein.infohub.mixin;
+
+import de.cvonderstein.infohub.InfoHubState;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Forwards client-side block updates (single changes and chunk delta updates) to InfoHub,
+ * so cached spawn sections can be invalidated instead of rescanned.
+ */
+@Mixin(ClientWorld.class)
+public abstract class ClientWorldMixin {
+    @Inject(method = "updateListeners", at = @At("TAIL"))
+    private void infohub$onBlockUpdate(BlockPos pos, BlockState oldState, BlockState newState, int flags, CallbackInfo ci) {
+        InfoHubState.INSTANCE.onBlockUpdate((ClientWorld) (Object) this, pos);
+    }
+}
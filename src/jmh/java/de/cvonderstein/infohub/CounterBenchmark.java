@@ -0,0 +1,89 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.util.math.MathHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player / mob ring counting ({@link NearbyCounter}) over synthetic entity sets: positions uniformly
+ * spread over +-160 blocks around the player, so the outer entities fall outside every ring.
+ *
+ * {@code mobPerEntity} is the old one-distance-check-per-mob approach for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CounterBenchmark {
+    private static final double SPREAD = 160.0;
+
+    @Param({"10", "1000", "50000"})
+    public int entities;
+
+    private final ArrayEntityView view = new ArrayEntityView();
+    private final MobChunkIndex index = new MobChunkIndex();
+    private NearbyCounter counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rnd = new Random(42);
+        view.beginFrame(0.5, 0.5);
+        for (int i = 0; i < entities; i++) {
+            double x = (rnd.nextDouble() * 2 - 1) * SPREAD;
+            double z = (rnd.nextDouble() * 2 - 1) * SPREAD;
+            boolean hostile = rnd.nextBoolean();
+
+            view.addPlayer(rnd.nextLong(), rnd.nextLong(), x, z);
+            view.addMob(i, hostile, x, z);
+            index.onLoad(i, hostile, MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4);
+        }
+
+        counter = new NearbyCounter(RingCounter.parse("3,5,7"), RingCounter.parse("1,2c,3,4"), 64);
+        counter.updatePlayers(view); // initialize the notify set (steady state: nobody enters)
+    }
+
+    @Benchmark
+    public int players() {
+        counter.updatePlayers(view);
+        return counter.playersInRing(2);
+    }
+
+    @Benchmark
+    public int mobBuckets() {
+        counter.updateMobs(view, index);
+        return counter.hostileInRing(3);
+    }
+
+    @Benchmark
+    public int mobPerEntity() {
+        RingCounter rings = counter.mobRings();
+        final double px = view.playerX();
+        final double pz = view.playerZ();
+        final int pcx = MathHelper.floor(px) >> 4;
+        final int pcz = MathHelper.floor(pz) >> 4;
+
+        rings.begin();
+        for (int slot = 0; slot < view.mobCount(); slot++) {
+            double x = view.mobX(slot);
+            double z = view.mobZ(slot);
+            double dx = x - px;
+            double dz = z - pz;
+            int chunkDist = Math.max(
+                    Math.abs((MathHelper.floor(x) >> 4) - pcx),
+                    Math.abs((MathHelper.floor(z) >> 4) - pcz));
+            rings.add(dx * dx + dz * dz, chunkDist,
+                    view.mobHostile(slot) ? NearbyCounter.MOB_HOSTILE : NearbyCounter.MOB_NON_HOSTILE);
+        }
+        rings.finish();
+        return rings.count(3, NearbyCounter.MOB_HOSTILE);
+    }
+}
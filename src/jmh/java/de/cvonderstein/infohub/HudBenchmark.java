@@ -0,0 +1,98 @@
+package de.cvonderstein.infohub;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HUD line formatting: the real {@code buildHudLine1/2/3} of {@link InfoHubState} (through
+ * {@link HudLine}) with synthetic values, unchanged (cached text) and changing every frame, against
+ * the old {@code String.format} version of line 1.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HudBenchmark {
+    private InfoHubState state;
+    private boolean flip = false;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        InfoHubConfig.useDefaults();
+
+        state = InfoHubState.INSTANCE;
+        sample(144, 3);
+    }
+
+    /** Same values as the previous frame, except the one that drives "changing". */
+    private void sample(int fps, int count) {
+        state.setHudSample(fps, 37, 4.31, false, 312, 11, count, count, count + 2);
+    }
+
+    // ----------------------------
+    // Line 1 (FPS / RTT / speed / day-night / light)
+    // ----------------------------
+
+    @Benchmark
+    public String hudLine1Steady() {
+        return state.buildHudLine1();
+    }
+
+    @Benchmark
+    public String hudLine1Changing() {
+        flip = !flip;
+        sample(flip ? 143 : 144, 3);
+        return state.buildHudLine1();
+    }
+
+    @Benchmark
+    public String stringFormatBaseline() {
+        flip = !flip;
+        return String.format(Locale.ROOT, "FPS:%d RTT:%dms V:%.2f %s:%ds L:%d(%d/%d)",
+                flip ? 143 : 144, 37, 4.31, "TN", 312, 11, 0, 11);
+    }
+
+    // ----------------------------
+    // Line 2 (players per ring)
+    // ----------------------------
+
+    @Benchmark
+    public String hudLine2Steady() {
+        return state.buildHudLine2();
+    }
+
+    @Benchmark
+    public String hudLine2Changing() {
+        flip = !flip;
+        sample(144, flip ? 3 : 4);
+        return state.buildHudLine2();
+    }
+
+    // ----------------------------
+    // Line 3 (mobs per ring)
+    // ----------------------------
+
+    @Benchmark
+    public String hudLine3Steady() {
+        return state.buildHudLine3();
+    }
+
+    @Benchmark
+    public String hudLine3Changing() {
+        flip = !flip;
+        sample(144, flip ? 3 : 4);
+        return state.buildHudLine3();
+    }
+}
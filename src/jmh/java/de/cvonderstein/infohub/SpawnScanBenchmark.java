@@ -0,0 +1,124 @@
+package de.cvonderstein.infohub;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkNibbleArray;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawn volume scan ({@link SpawnScanWorker#computeSection} / {@code isHostileSpawnableSpot}) over a
+ * synthetic snapshot: rolling stone/grass terrain around y=64 with water pools, leaf clumps and
+ * lit patches, scanned like {@code rescanSpawnMarkers} does (radius x +-12 blocks around the ground).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnScanBenchmark {
+    private static final int BOTTOM_Y = -64;
+    private static final int HEIGHT = 384;
+    private static final int GROUND_Y = 64;
+    private static final int VERTICAL = 12;
+
+    @Param({"24", "96"})
+    public int radius;
+
+    private SpawnSnapshot snapshot;
+    private final LongArrayList keys = new LongArrayList();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        BlockState air = Blocks.AIR.getDefaultState();
+        BlockState stone = Blocks.STONE.getDefaultState();
+        BlockState grass = Blocks.GRASS_BLOCK.getDefaultState();
+        BlockState water = Blocks.WATER.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+
+        Random rnd = new Random(42);
+        snapshot = new SpawnSnapshot(BOTTOM_Y, HEIGHT);
+
+        int minS = ChunkSectionPos.getSectionCoord(-radius);
+        int maxS = ChunkSectionPos.getSectionCoord(radius);
+        int minSY = ChunkSectionPos.getSectionCoord(GROUND_Y - VERTICAL - 8);
+        int maxSY = ChunkSectionPos.getSectionCoord(GROUND_Y + VERTICAL + 8);
+
+        for (int sx = minS - 1; sx <= maxS + 1; sx++) {
+            for (int sz = minS - 1; sz <= maxS + 1; sz++) {
+                for (int sy = minSY; sy <= maxSY; sy++) {
+                    PalettedContainer<BlockState> states = new PalettedContainer<>(
+                            Block.STATE_IDS, air, PalettedContainer.PaletteProvider.BLOCK_STATE);
+                    ChunkNibbleArray light = new ChunkNibbleArray();
+
+                    for (int lx = 0; lx < 16; lx++) {
+                        for (int lz = 0; lz < 16; lz++) {
+                            int x = (sx << 4) + lx;
+                            int z = (sz << 4) + lz;
+                            int h = GROUND_Y + (int) Math.round(4 * Math.sin(x / 9.0) + 3 * Math.cos(z / 7.0));
+                            boolean pool = h < GROUND_Y - 4;
+                            boolean lit = ((x >> 3) + (z >> 3)) % 5 == 0;
+
+                            for (int ly = 0; ly < 16; ly++) {
+                                int y = (sy << 4) + ly;
+                                BlockState state;
+                                if (y < h) state = stone;
+                                else if (y == h) state = grass;
+                                else if (pool && y <= GROUND_Y - 4) state = water;
+                                else if (y <= h + 3 && rnd.nextInt(60) == 0) state = leaves;
+                                else state = air;
+                                states.set(lx, ly, lz, state);
+
+                                if (lit && y > h) light.set(lx, ly, lz, 7);
+                            }
+                        }
+                    }
+                    snapshot.put(sx, sy, sz, states, light);
+                }
+            }
+        }
+
+        // Same section window as rescanSpawnMarkers for a player standing at (0, GROUND_Y + 1, 0).
+        int minSpawnY = GROUND_Y + 1 - VERTICAL + 1;
+        int maxSpawnY = GROUND_Y + 1 + VERTICAL + 1;
+        for (int sx = minS; sx <= maxS; sx++) {
+            for (int sz = minS; sz <= maxS; sz++) {
+                for (int sy = ChunkSectionPos.getSectionCoord(minSpawnY); sy <= ChunkSectionPos.getSectionCoord(maxSpawnY); sy++) {
+                    keys.add(ChunkSectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanVolume(Blackhole bh) {
+        for (int i = 0; i < keys.size(); i++) {
+            long key = keys.getLong(i);
+            bh.consume(SpawnScanWorker.computeSection(snapshot,
+                    ChunkSectionPos.unpackX(key), ChunkSectionPos.unpackY(key), ChunkSectionPos.unpackZ(key)));
+        }
+    }
+
+    @Benchmark
+    public long[] scanOneSection() {
+        return SpawnScanWorker.computeSection(snapshot, 0, ChunkSectionPos.getSectionCoord(GROUND_Y), 0);
+    }
+}